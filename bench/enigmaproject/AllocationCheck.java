@@ -0,0 +1,67 @@
+package enigmaproject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * AllocationCheck
+ * - Gerbang alokasi untuk jalur panas: stepping rotor (Enigma I dan M4) dan encipher
+ *   bulk char[]/byte[] ke buffer pemanggil harus 0 B/op
+ * - Menjalankan benchmark dengan GCProfiler lalu gagal (exit 1) bila gc.alloc.rate.norm
+ *   melewati MAX_BYTES_PER_OP; dipakai target "ant bench-alloc"
+ * - Encipher diukur dengan size=1 supaya alokasi tetap per iterasi JMH tersebar ke jutaan
+ *   operasi; alokasi per panggilan atau per huruf tetap terlihat sebagai >= 16 B/op
+ * - Batasnya sedikit di atas 0 karena angka JMH berasal dari sampling TLAB: jalur tanpa
+ *   alokasi terbaca sekitar 0,001 B/op, satu objek terkecil saja sudah 16 B/op
+ */
+public class AllocationCheck {
+
+    private static final double MAX_BYTES_PER_OP = 0.5;
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include("MachineBenchmark\\.stepping")
+                .include("EncipherBenchmark\\.encipher(Chars|Bytes)")
+                .param("size", "1")
+                .addProfiler(GCProfiler.class)
+                .warmupIterations(2)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(3)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        List<String> failures = new ArrayList<>();
+        for (RunResult run : results) {
+            String name = run.getParams().getBenchmark();
+            Result<?> allocation = run.getAggregatedResult().getSecondaryResults().get("gc.alloc.rate.norm");
+            if (allocation == null) {
+                failures.add(name + ": no gc.alloc.rate.norm result");
+                continue;
+            }
+            double bytesPerOp = allocation.getScore();
+            System.out.printf("%-50s %10.3f B/op%n", name, bytesPerOp);
+            if (bytesPerOp > MAX_BYTES_PER_OP) {
+                failures.add(String.format("%s: %.3f B/op", name, bytesPerOp));
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            System.err.println("Allocation check failed (limit " + MAX_BYTES_PER_OP + " B/op):");
+            failures.forEach(failure -> System.err.println("  " + failure));
+            System.exit(1);
+        }
+        System.out.println("Allocation check passed: " + results.size() + " benchmarks at 0 B/op");
+    }
+}
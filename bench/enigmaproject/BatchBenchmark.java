@@ -0,0 +1,77 @@
+package enigmaproject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * BatchBenchmark
+ * - 10.000 pesan pendek (sekitar 120 huruf), masing-masing dengan kunci sendiri
+ * - Membandingkan mesin baru per pesan dari string dengan EnigmaBatch
+ *   (key sudah di-parse, pool mesin, paralel)
+ * - Skor dalam batch/s; kalikan 10.000 untuk pesan/s
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchBenchmark {
+
+    private static final int MESSAGES = 10_000;
+    private static final String[][] ORDERS = {
+            {"I", "II", "III"}, {"IV", "II", "V"}, {"VI", "VIII", "I"}, {"III", "VII", "II"}
+    };
+
+    private String[][] keyStrings;  // rotor, ring, posisi, plugboard per pesan
+    private List<EnigmaBatch.Message> messages;
+    private EnigmaBatch batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        keyStrings = new String[MESSAGES][];
+        messages = new ArrayList<>(MESSAGES);
+        for (int m = 0; m < MESSAGES; m++) {
+            String[] order = ORDERS[random.nextInt(ORDERS.length)];
+            String ring = letters(random, 3);
+            String positions = letters(random, 3);
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < 120; i++) {
+                text.append((char) ('A' + random.nextInt(26)));
+            }
+            keyStrings[m] = new String[]{String.join(" ", order), ring, positions, text.toString()};
+            EnigmaBatch.Key key = new EnigmaBatch.Key(order, "UKW-B", ring, positions, Machines.PLUGBOARD);
+            messages.add(new EnigmaBatch.Message(key, text.toString()));
+        }
+        batch = new EnigmaBatch();
+    }
+
+    private static String letters(Random random, int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(' ');
+            sb.append((char) ('A' + random.nextInt(26)));
+        }
+        return sb.toString();
+    }
+
+    @Benchmark
+    public int machinePerMessage() {
+        int length = 0;
+        for (String[] key : keyStrings) {
+            Enigma machine = EnigmaCatalog.machine(key[0].split(" "), "UKW-B", key[1], key[2], Machines.PLUGBOARD);
+            length += machine.encipher(key[3]).length();
+        }
+        return length;
+    }
+
+    @Benchmark
+    public EnigmaBatch.Result batch() {
+        return batch.run(messages);
+    }
+}
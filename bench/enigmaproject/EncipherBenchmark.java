@@ -0,0 +1,66 @@
+package enigmaproject;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * EncipherBenchmark
+ * - Throughput Enigma.encipher untuk input 1 B, 1 KB, 1 MB dan 100 MB
+ * - Membandingkan encipher(String) dengan varian bulk char[]/byte[]
+ * - Jalankan dengan -prof gc (default target "ant bench") untuk melihat alokasi per operasi
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class EncipherBenchmark {
+
+    @Param({"1", "1024", "1048576", "104857600"})
+    public int size;
+
+    private Enigma enigma;
+    private String text;
+    private char[] chars;
+    private char[] charOutput;
+    private byte[] bytes;
+    private byte[] byteOutput;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        enigma = Machines.enigmaI();
+
+        // Teks campuran: huruf besar/kecil dengan spasi seperti pesan biasa
+        Random random = new Random(42);
+        bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            int pick = random.nextInt(60);
+            bytes[i] = (byte) (pick < 26 ? 'A' + pick : pick < 52 ? 'a' + pick - 26 : ' ');
+        }
+        byteOutput = new byte[size];
+        text = new String(bytes, StandardCharsets.US_ASCII);
+        chars = text.toCharArray();
+        charOutput = new char[size];
+    }
+
+    @Benchmark
+    public String encipherString() {
+        return enigma.encipher(text);
+    }
+
+    @Benchmark
+    public char[] encipherChars() {
+        enigma.encipher(chars, 0, chars.length, charOutput, 0);
+        return charOutput;
+    }
+
+    @Benchmark
+    public byte[] encipherBytes() {
+        enigma.encipher(bytes, 0, bytes.length, byteOutput, 0);
+        return byteOutput;
+    }
+}
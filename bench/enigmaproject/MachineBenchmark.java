@@ -0,0 +1,58 @@
+package enigmaproject;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * MachineBenchmark
+ * - Biaya membuat mesin (parse string vs salinan dari EnigmaConfig)
+ * - resetRotorPositions dan satu langkah stepping rotor (Enigma I dan M4)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MachineBenchmark {
+
+    private EnigmaConfig config;
+    private Enigma enigma;
+    private Enigma enigmaM4;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        config = Machines.enigmaIConfig();
+        enigma = config.newMachine();
+        enigmaM4 = Machines.enigmaM4Config().newMachine();
+    }
+
+    @Benchmark
+    public Enigma constructFromStrings() {
+        return Machines.enigmaI();
+    }
+
+    @Benchmark
+    public Enigma constructFromConfig() {
+        return config.newMachine();
+    }
+
+    @Benchmark
+    public Enigma resetRotorPositions() {
+        enigma.resetRotorPositions("Q E V");
+        return enigma;
+    }
+
+    @Benchmark
+    public Enigma stepping() {
+        enigma.advanceRotors();
+        return enigma;
+    }
+
+    @Benchmark
+    public Enigma steppingM4() {
+        enigmaM4.advanceRotors();
+        return enigmaM4;
+    }
+}
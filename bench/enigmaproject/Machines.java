@@ -0,0 +1,31 @@
+package enigmaproject;
+
+// Setting Enigma I yang sama dengan default EnigmaGUI, dipakai semua benchmark
+final class Machines {
+
+    static final String[] ROTOR_WIRES = {
+            "EKMFLGDQVZNTOWYHXUSPAIBRCJ",
+            "AJDKSIRUXBLHWTMCQGZNPYFVOE",
+            "BDFHJLCPRTXVZNYEIWGAKMUSQO"
+    };
+    static final char[] NOTCHES = {'Q', 'E', 'V'};
+    static final String REFLECTOR_B = "YRUHQSLDPXNGOKMIEBFZCWVJAT";
+    static final String[] PLUGBOARD = {"AT", "BS", "DE", "FM", "IR", "KN", "LZ", "OW", "PV", "XY"};
+
+    private Machines() {
+    }
+
+    static Enigma enigmaI() {
+        return new Enigma(ROTOR_WIRES, NOTCHES, REFLECTOR_B, "A A A", "A A A", PLUGBOARD);
+    }
+
+    static EnigmaConfig enigmaIConfig() {
+        return new EnigmaConfig(ROTOR_WIRES, NOTCHES, REFLECTOR_B, "A A A", "A A A", PLUGBOARD);
+    }
+
+    // M4 Kriegsmarine: Beta tetap di kiri, reflector tipis B
+    static EnigmaConfig enigmaM4Config() {
+        return EnigmaCatalog.config(new String[]{"Beta", "I", "II", "III"}, "UKW-B-thin",
+                "A A A A", "A A A A", PLUGBOARD);
+    }
+}
@@ -0,0 +1,202 @@
+package enigmaproject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * SeekCheck
+ * - Regression check untuk Enigma.seek dan rewind: posisi rotor dan output dibandingkan
+ *   dengan mesin yang mengetik huruf demi huruf dan dengan simulasi stepping yang ditulis
+ *   ulang di sini (tidak memakai kode stepping Enigma)
+ * - Mesin: M3, M3 dengan wheel dua notch, M4 (wheel Greek tetap) dan 4 rotor melangkah
+ * - Posisi awal mencakup posisi tepat sebelum double step dan posisi di notch; seek sampai
+ *   MAX_OFFSET ketukan (beberapa kali periode 4 rotor) dan rewind sampai HISTORY - 1 ketukan
+ * - Dipakai target "ant check-seek"; gagal (exit 1) dengan daftar selisih
+ */
+public class SeekCheck {
+
+    private static final long MAX_OFFSET = 2_000_000;
+    private static final int DENSE_OFFSETS = 800;  // Semua offset 0..799: double step pertama pasti lewat
+    private static final int RANDOM_OFFSETS = 200;
+    private static final int HISTORY = 1024;
+    private static final int MAX_FAILURES = 20;
+    private static final String PROBE = "DERFUEHRERISTTOTDERKAMPFGEHTWEITER";
+
+    // Reflector lalu rotor dari kiri ke kanan; wheel Beta/Gamma paling kiri tidak melangkah
+    private static final String[][] MACHINES = {
+        {"UKW-B", "I", "II", "III"},
+        {"UKW-C", "VI", "VIII", "VII"},
+        {"UKW-B-thin", "Beta", "II", "IV", "I"},
+        {"UKW-C-thin", "Gamma", "VI", "VII", "VIII"},
+        {"UKW-B", "I", "II", "III", "IV"},
+        {"UKW-C", "VI", "I", "VII", "V"},
+    };
+
+    private final Random random = new Random(20240101L);
+    private final List<String> failures = new ArrayList<>();
+    private int checks;
+
+    public static void main(String[] args) {
+        SeekCheck check = new SeekCheck();
+        for (String[] machine : MACHINES) {
+            check.checkMachine(machine);
+        }
+        if (!check.failures.isEmpty()) {
+            System.err.println("Seek check failed:");
+            check.failures.forEach(failure -> System.err.println("  " + failure));
+            System.exit(1);
+        }
+        System.out.println("Seek check passed: " + MACHINES.length + " machines, " + check.checks + " comparisons");
+    }
+
+    private void checkMachine(String[] machine) {
+        String reflector = machine[0];
+        String[] names = new String[machine.length - 1];
+        System.arraycopy(machine, 1, names, 0, names.length);
+        Stepper reference = new Stepper(names);
+
+        List<int[]> starts = new ArrayList<>();
+        starts.add(reference.offsetNotches(0));
+        starts.add(reference.offsetNotches(-1));   // Satu ketukan sebelum notch: double step segera
+        starts.add(reference.offsetNotches(-2));
+        for (int i = 0; i < 3; i++) {
+            starts.add(randomPositions(names.length));
+        }
+        for (int i = 0; i < starts.size(); i++) {
+            int[] start = starts.get(i);
+            EnigmaConfig config = EnigmaCatalog.config(names, reflector, letters(randomPositions(names.length)),
+                    letters(start), new String[]{"AT", "BS", "DE"});
+            // Cache substitusi hanya di posisi awal pertama: copy() membangun ulang cache
+            checkStart(String.join(" ", names) + " from " + letters(start), config, reference, start, i == 0);
+        }
+    }
+
+    private void checkStart(String label, EnigmaConfig config, Stepper reference, int[] start, boolean cache) {
+        TreeMap<Long, String> expected = new TreeMap<>();
+        for (long n = 0; n < DENSE_OFFSETS; n++) {
+            expected.put(n, null);
+        }
+        for (int i = 0; i < RANDOM_OFFSETS; i++) {
+            expected.put((long) (random.nextDouble() * MAX_OFFSET), null);
+        }
+
+        Enigma typed = config.newMachine();
+        typed.setSubstitutionCacheEnabled(cache);
+        Enigma seeker = config.newMachine();
+        seeker.setSubstitutionCacheEnabled(cache);
+        int[] positions = start.clone();
+        int[][] history = new int[HISTORY][];
+        char[] letters = new char[64 * 1024];
+        long offset = 0;
+
+        for (long target : expected.keySet()) {
+            // Mesin "typed" mengetik huruf demi huruf sampai target, referensi melangkah sama jauh
+            while (offset < target) {
+                int chunk = (int) Math.min(letters.length, target - offset);
+                for (int i = 0; i < chunk; i++) {
+                    letters[i] = (char) ('A' + random.nextInt(26));
+                    history[(int) ((offset + i) % HISTORY)] = positions.clone();
+                    reference.step(positions);
+                }
+                typed.encipher(letters, 0, chunk, letters, 0);
+                offset += chunk;
+            }
+            history[(int) (offset % HISTORY)] = positions.clone();
+            String want = letters(positions);
+            expected.put(target, want);
+
+            compare(label, "typed to " + target, want, typed.getCurrentRotorPositions());
+
+            seeker.seek(target);
+            compare(label, "seek(" + target + ")", want, seeker.getCurrentRotorPositions());
+            compare(label, "output after seek(" + target + ")", typed.copy().encipher(PROBE), seeker.copy().encipher(PROBE));
+
+            long steps = random.nextInt((int) Math.min(target, HISTORY - 1) + 1);
+            Enigma rewound = typed.copy();
+            rewound.rewind(steps);
+            compare(label, "rewind(" + steps + ") from " + target,
+                    letters(history[(int) ((target - steps) % HISTORY)]), rewound.getCurrentRotorPositions());
+            compare(label, "offset after rewind(" + steps + ") from " + target,
+                    String.valueOf(target - steps), String.valueOf(rewound.getOffset()));
+        }
+
+        // Seek absolut dalam urutan acak, termasuk mundur jauh
+        List<Long> shuffled = new ArrayList<>(expected.keySet());
+        Collections.shuffle(shuffled, random);
+        for (long target : shuffled) {
+            seeker.seek(target);
+            compare(label, "shuffled seek(" + target + ")", expected.get(target), seeker.getCurrentRotorPositions());
+        }
+    }
+
+    private void compare(String label, String what, String expected, String actual) {
+        checks++;
+        if (!expected.equals(actual) && failures.size() < MAX_FAILURES) {
+            failures.add(label + ": " + what + " expected " + expected + ", got " + actual);
+        }
+    }
+
+    private int[] randomPositions(int count) {
+        int[] positions = new int[count];
+        for (int i = 0; i < count; i++) {
+            positions[i] = random.nextInt(26);
+        }
+        return positions;
+    }
+
+    private static String letters(int[] positions) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < positions.length; i++) {
+            if (i > 0) text.append(' ');
+            text.append((char) ('A' + positions[i]));
+        }
+        return text.toString();
+    }
+
+    // Aturan stepping langsung dari notch di jendela rotor: rotor paling kanan selalu maju,
+    // rotor lain maju jika rotor kanannya di notch; rotor tengah (bukan yang paling kiri
+    // yang melangkah) juga maju jika dirinya di notch (double step). Wheel Greek diam.
+    private static final class Stepper {
+        private final int[] notches;
+        private final int firstStepping;
+
+        Stepper(String[] names) {
+            notches = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                for (char notch : EnigmaCatalog.rotorNotches(names[i]).toCharArray()) {
+                    notches[i] |= 1 << (notch - 'A');
+                }
+            }
+            firstStepping = names[0].equalsIgnoreCase("Beta") || names[0].equalsIgnoreCase("Gamma") ? 1 : 0;
+        }
+
+        void step(int[] positions) {
+            int last = positions.length - 1;
+            boolean[] advance = new boolean[positions.length];
+            for (int i = firstStepping; i <= last; i++) {
+                advance[i] = i == last || atNotch(positions, i + 1) || (i > firstStepping && atNotch(positions, i));
+            }
+            for (int i = firstStepping; i <= last; i++) {
+                if (advance[i]) {
+                    positions[i] = (positions[i] + 1) % 26;
+                }
+            }
+        }
+
+        // Tiap rotor di notch pertamanya + shift (posisi wheel Greek: A)
+        int[] offsetNotches(int shift) {
+            int[] positions = new int[notches.length];
+            for (int i = firstStepping; i < notches.length; i++) {
+                positions[i] = (Integer.numberOfTrailingZeros(notches[i]) + shift + 26) % 26;
+            }
+            return positions;
+        }
+
+        private boolean atNotch(int[] positions, int rotor) {
+            return (notches[rotor] & (1 << positions[rotor])) != 0;
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package enigmaproject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bombe
+ * - Simulasi Bombe Turing-Welchman untuk mencari kunci dari crib (known plaintext)
+ * - Menu huruf dibangun dari pasangan crib/ciphertext; setiap urutan 3 rotor dan
+ *   17.576 posisi awal diuji dengan propagasi constraint lewat diagonal board
+ * - Ring setting dianggap A seperti Bombe asli: stop menunjukkan posisi inti rotor,
+ *   ring setting dicari belakangan
+ * - Paralel per urutan rotor dan blok posisi awal di ForkJoinPool
+ */
+public class Bombe {
+
+    private static final int STATES = 26 * 26 * 26;
+    private static final int STARTS_PER_TASK = 1024;
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private final WheelSet wheels;
+
+    // Hasil satu stop Bombe
+    public static final class Stop {
+        private final int[] rotorOrder;
+        private final String positions;
+        private final String[] plugboardPairs;
+
+        Stop(int[] rotorOrder, String positions, String[] plugboardPairs) {
+            this.rotorOrder = rotorOrder;
+            this.positions = positions;
+            this.plugboardPairs = plugboardPairs;
+        }
+
+        // Index wheel (sesuai urutan di constructor Bombe) dari kiri ke kanan
+        public int[] getRotorOrder() {
+            return rotorOrder.clone();
+        }
+
+        // Posisi awal rotor dengan ring setting A, format "A B C"
+        public String getPositions() {
+            return positions;
+        }
+
+        // Pasangan plugboard yang diimplikasikan menu (huruf yang tidak disambung tidak ikut)
+        public String[] getPlugboardPairs() {
+            return plugboardPairs.clone();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder order = new StringBuilder();
+            for (int i = 0; i < rotorOrder.length; i++) {
+                if (i > 0) order.append('-');
+                order.append(rotorOrder[i]);
+            }
+            return "Order " + order + " | Pos " + positions + " | Plug " + String.join(" ", plugboardPairs);
+        }
+    }
+
+    public Bombe(String[] wheelWirings, char[] wheelNotches, String reflectorWiring) {
+        this.wheels = WheelSet.fromWirings(wheelWirings, wheelNotches, reflectorWiring, "Bombe");
+    }
+
+    // Wheel dari EnigmaCatalog, mis. new Bombe("UKW-B", "I", "II", "III", "IV", "V", "VI", "VII", "VIII");
+    public Bombe(String reflectorName, String... wheelNames) {
+        this.wheels = WheelSet.fromCatalog(reflectorName, wheelNames, "Bombe");
+    }
+
+    // Jalankan Bombe untuk crib yang dimulai di huruf ke-cribOffset ciphertext.
+    // Karakter non-huruf diabaikan pada ciphertext maupun crib.
+    public List<Stop> run(String ciphertext, String crib, int cribOffset, ForkJoinPool pool) {
+        Menu menu = new Menu(WheelSet.letterIndexes(ciphertext), WheelSet.letterIndexes(crib), cribOffset);
+        int[][] orders = wheels.rotorOrders();
+
+        // 1. Tabel scrambler dan stepping per urutan rotor
+        WheelSet.OrderTables tables = wheels.tables(orders, pool);
+
+        // 2. Uji semua posisi awal, per blok supaya work-stealing merata
+        int blocks = (STATES + STARTS_PER_TASK - 1) / STARTS_PER_TASK;
+        Stop[][] found = new Stop[orders.length * blocks][];
+        pool.invoke(new Enigma.ChunkTask(0, found.length, task -> {
+            int order = task / blocks;
+            int from = (task % blocks) * STARTS_PER_TASK;
+            int to = Math.min(STATES, from + STARTS_PER_TASK);
+            found[task] = new Scan(menu, tables.scramblers[order], tables.nextStates[order]).run(orders[order], from, to);
+        }));
+
+        List<Stop> stops = new ArrayList<>();
+        for (Stop[] block : found) {
+            Collections.addAll(stops, block);
+        }
+        return stops;
+    }
+
+    // Menu: graf huruf crib <-> ciphertext, tiap edge diberi label posisi crib
+    private static final class Menu {
+        final int cribOffset;
+        final int length;
+        final int register;  // Huruf dengan edge terbanyak, tempat hipotesis diuji
+        final int[] edgeStart = new int[27];
+        final int[] edgeOther;
+        final int[] edgePosition;
+
+        Menu(byte[] ciphertext, byte[] crib, int cribOffset) {
+            if (crib.length == 0) {
+                throw new IllegalArgumentException("Crib must contain at least one letter");
+            }
+            if (cribOffset < 0 || cribOffset + crib.length > ciphertext.length) {
+                throw new IllegalArgumentException("Crib does not fit in the ciphertext at offset " + cribOffset);
+            }
+            this.cribOffset = cribOffset;
+            this.length = crib.length;
+
+            int[] plain = new int[length];
+            int[] cipher = new int[length];
+            int[] degree = new int[26];
+            for (int i = 0; i < length; i++) {
+                plain[i] = crib[i];
+                cipher[i] = ciphertext[cribOffset + i];
+                if (plain[i] == cipher[i]) {
+                    throw new IllegalArgumentException("Crib cannot be placed at offset " + cribOffset
+                            + ": letter " + (char) ('A' + plain[i]) + " would encipher to itself");
+                }
+                degree[plain[i]]++;
+                degree[cipher[i]]++;
+            }
+
+            // Adjacency dalam bentuk CSR: edge huruf L ada di [edgeStart[L], edgeStart[L + 1])
+            int best = 0;
+            for (int letter = 0; letter < 26; letter++) {
+                edgeStart[letter + 1] = edgeStart[letter] + degree[letter];
+                if (degree[letter] > degree[best]) best = letter;
+            }
+            register = best;
+
+            edgeOther = new int[length * 2];
+            edgePosition = new int[length * 2];
+            int[] fill = edgeStart.clone();
+            for (int i = 0; i < length; i++) {
+                edgeOther[fill[plain[i]]] = cipher[i];
+                edgePosition[fill[plain[i]]++] = i;
+                edgeOther[fill[cipher[i]]] = plain[i];
+                edgePosition[fill[cipher[i]]++] = i;
+            }
+        }
+    }
+
+    // Scan satu blok posisi awal untuk satu urutan rotor; scratch dipakai ulang per posisi
+    private static final class Scan {
+        private final Menu menu;
+        private final byte[] scrambler;
+        private final short[] nextState;
+        private final int[] scramblerBase;        // Offset tabel scrambler per posisi crib
+        private final int[] live = new int[26];   // Bit x di live[L]: hipotesis "L disambung ke x"
+        private final int[] queue = new int[26 * 26];
+
+        Scan(Menu menu, byte[] scrambler, short[] nextState) {
+            this.menu = menu;
+            this.scrambler = scrambler;
+            this.nextState = nextState;
+            this.scramblerBase = new int[menu.length];
+        }
+
+        Stop[] run(int[] order, int from, int to) {
+            List<Stop> stops = new ArrayList<>();
+            for (int start = from; start < to; start++) {
+                // Enigma melangkah sebelum tiap huruf: huruf crib ke-i ada di langkah cribOffset + i + 1
+                int state = start;
+                for (int step = 0; step <= menu.cribOffset; step++) {
+                    state = nextState[state];
+                }
+                for (int i = 0; i < menu.length; i++) {
+                    scramblerBase[i] = state * 26;
+                    state = nextState[state];
+                }
+
+                if (testPosition()) {
+                    stops.add(new Stop(order.clone(), positions(start), impliedPairs()));
+                }
+            }
+            return stops.toArray(new Stop[0]);
+        }
+
+        // Diagonal board: uji hipotesis register = A dulu; jika tidak konsisten,
+        // hipotesis yang benar pasti ada di luar komponen yang menyala
+        private boolean testPosition() {
+            int register = menu.register;
+            if (propagate(register, 0, false)) {
+                return true;
+            }
+            int unlit = ~live[register] & ALL_LETTERS;
+            while (unlit != 0) {
+                int candidate = Integer.numberOfTrailingZeros(unlit);
+                unlit &= unlit - 1;
+                if (propagate(register, candidate, true)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        // Nyalakan semua implikasi dari hipotesis (letter, partner). Mengembalikan true
+        // jika hasilnya konsisten (tiap huruf paling banyak satu pasangan).
+        private boolean propagate(int letter, int partner, boolean stopOnConflict) {
+            for (int i = 0; i < 26; i++) {
+                live[i] = 0;
+            }
+            boolean consistent = true;
+            int head = 0;
+            int tail = 0;
+            live[letter] = 1 << partner;
+            queue[tail++] = letter * 26 + partner;
+
+            while (head < tail) {
+                int wire = queue[head++];
+                int from = wire / 26;
+                int value = wire % 26;
+
+                for (int e = menu.edgeStart[from]; e < menu.edgeStart[from + 1]; e++) {
+                    int other = menu.edgeOther[e];
+                    int mapped = scrambler[scramblerBase[menu.edgePosition[e]] + value];
+                    if ((live[other] & (1 << mapped)) == 0) {
+                        if (live[other] != 0) consistent = false;
+                        live[other] |= 1 << mapped;
+                        queue[tail++] = other * 26 + mapped;
+                    }
+                }
+                // Diagonal board: L disambung ke x berarti x disambung ke L
+                if ((live[value] & (1 << from)) == 0) {
+                    if (live[value] != 0) consistent = false;
+                    live[value] |= 1 << from;
+                    queue[tail++] = value * 26 + from;
+                }
+
+                if (!consistent && (stopOnConflict || live[menu.register] == ALL_LETTERS)) {
+                    return false;
+                }
+            }
+            return consistent;
+        }
+
+        private String[] impliedPairs() {
+            List<String> pairs = new ArrayList<>();
+            for (int letter = 0; letter < 26; letter++) {
+                int partner = Integer.numberOfTrailingZeros(live[letter]);
+                if (live[letter] != 0 && partner > letter) {
+                    pairs.add("" + (char) ('A' + letter) + (char) ('A' + partner));
+                }
+            }
+            return pairs.toArray(new String[0]);
+        }
+
+        private static String positions(int state) {
+            return (char) ('A' + state / 676) + " " + (char) ('A' + state / 26 % 26) + " " + (char) ('A' + state % 26);
+        }
+    }
+}
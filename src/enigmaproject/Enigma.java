@@ -1,53 +1,137 @@
 package enigmaproject;
 
-import java.util.*;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
 
 public class Enigma {
     
+    private EnigmaConfig config;
     private Rotor[] rotors;
     private Reflector reflector;
     private Plugboard plugboard;
     private int numberOfRotors;
+    private int firstStepping;  // Rotor di kiri index ini tetap (wheel Greek M4), tidak pernah melangkah
+    
+    // Cache substitusi gabungan per posisi rotor (opsional). Untuk posisi rotor
+    // tertentu seluruh jalur plugboard -> rotor -> reflector -> rotor -> plugboard
+    // adalah satu permutasi 26 huruf, disimpan di slot * 26 + huruf.
+    private static final int MAX_CACHE_SLOTS = 1 << 16;
+    private byte[] substitutionCache;
+    private long[] cachedStates; // State rotor per slot, -1 = slot kosong
+    
+    // Posisi awal dan jumlah ketukan sejak posisi awal, dasar untuk seek()
+    private int[] startPositions;
+    private long offset;
+    
+    // Stepping lewat tabel bersama (null jika lebih dari Stepping.MAX_ROTORS rotor melangkah).
+    // steppingState: posisi rotor di dalam tabel (index tableFirst ke kanan) sebagai angka
+    // basis 26; fixedState: rotor di kirinya (wheel tetap M4, rotor keempat) dalam state
+    // lengkap untuk cache substitusi.
+    private Stepping stepping;
+    private int tableFirst;
+    private int steppingState;
+    private int fixedState;
+    private int startState;
+    
+    // Batas rotor untuk scramblerTable (tabel per state lengkap), 26^4 state
+    private static final int MAX_SCRAMBLER_ROTORS = 4;
+    
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 16;
+    
+    // Wheel terkompilasi: wiring dan notch, immutable dan dipakai bersama oleh semua Rotor
+    static final class Wheel {
+        final String name;         // Nama katalog ("I", "VI", ...) atau null untuk wiring custom
+        final String wiring;
+        final String notchLetters;
+        final int[] forward;       // Wiring kanan -> kiri (0-25)
+        final int[] inverse;       // Wiring kiri -> kanan (0-25)
+        final int notches;         // Bit p menyala jika posisi p adalah notch
+        final boolean fixed;       // Wheel keempat M4 (Beta/Gamma): diam, hanya diputar manual
+        
+        Wheel(String name, String wiring, String notchLetters, boolean fixed) {
+            this.name = name;
+            this.fixed = fixed;
+            this.wiring = wiring.toUpperCase();
+            this.notchLetters = notchLetters.toUpperCase();
+            forward = new int[26];
+            inverse = new int[26];
+            for (int i = 0; i < 26; i++) {
+                int wired = charToInt(this.wiring.charAt(i));
+                forward[i] = wired;
+                inverse[wired] = i;
+            }
+            int mask = 0;
+            for (int i = 0; i < this.notchLetters.length(); i++) {
+                mask |= 1 << charToInt(this.notchLetters.charAt(i));
+            }
+            notches = mask;
+        }
+    }
     
     // Inner class untuk Rotor
-    private class Rotor {
-        private String wiring;
-        private char notch;
+    static class Rotor {
+        private final Wheel wheel;
+        private final int[] forward;  // Referensi langsung ke tabel wheel untuk jalur encode
+        private final int[] inverse;
+        private final int notches;
         private int position;    // Current position (0-25)
         private int ringSetting; // Ring setting (0-25)
-        private boolean hasAdvanced;
+        private int offset;      // (position - ringSetting) mod 26
         
-        public Rotor(String wiring, char notch, int ringSetting, int initialPosition) {
-            this.wiring = wiring.toUpperCase();
-            this.notch = Character.toUpperCase(notch);
+        // Salinan dengan posisi sendiri, tabel wiring dipakai bersama
+        public Rotor(Rotor other) {
+            this(other.wheel, other.ringSetting, other.position);
+        }
+        
+        public Rotor(Wheel wheel, int ringSetting, int initialPosition) {
+            this.wheel = wheel;
+            this.forward = wheel.forward;
+            this.inverse = wheel.inverse;
+            this.notches = wheel.notches;
             this.ringSetting = ringSetting;
             this.position = initialPosition;
-            this.hasAdvanced = false;
+            this.offset = (position - ringSetting + 26) % 26;
+        }
+        
+        Wheel getWheel() {
+            return wheel;
         }
         
-        public char encodeForward(char input) {
+        public int encodeForward(int input) {
             // Convert input through rotor (right to left)
-            int offset = (charToInt(input) + position - ringSetting + 26) % 26;
-            char encoded = wiring.charAt(offset);
-            return intToChar((charToInt(encoded) - position + ringSetting + 26) % 26);
+            return exit(forward[enter(input)]);
         }
         
-        public char encodeBackward(char input) {
+        public int encodeBackward(int input) {
             // Convert input through rotor backwards (left to right)
-            int adjustedInput = (charToInt(input) + position - ringSetting + 26) % 26;
-            char inputChar = intToChar(adjustedInput);
-            int wiringIndex = wiring.indexOf(inputChar);
-            return intToChar((wiringIndex - position + ringSetting + 26) % 26);
+            return exit(inverse[enter(input)]);
         }
         
-        public boolean advance() {
-            hasAdvanced = true;
-            position = (position + 1) % 26;
-            return isAtNotch();
+        private int enter(int input) {
+            int contact = input + offset;
+            return contact >= 26 ? contact - 26 : contact;
+        }
+        
+        private int exit(int contact) {
+            int output = contact - offset;
+            return output < 0 ? output + 26 : output;
+        }
+        
+        public void advance() {
+            position = position == 25 ? 0 : position + 1;
+            offset = offset == 25 ? 0 : offset + 1;
         }
         
         public boolean isAtNotch() {
-            return intToChar(position) == notch;
+            return (notches >>> position & 1) != 0;
         }
         
         public char getCurrentPosition() {
@@ -55,149 +139,596 @@ public class Enigma {
         }
         
         public void setPosition(char pos) {
-            this.position = charToInt(pos);
+            setPositionIndex(charToInt(pos));
         }
         
-        public boolean hasAdvancedThisCycle() {
-            return hasAdvanced;
+        public void setPositionIndex(int pos) {
+            this.position = pos;
+            this.offset = (position - ringSetting + 26) % 26;
         }
         
-        public void resetAdvancedFlag() {
-            hasAdvanced = false;
+        void setRingSetting(int ring) {
+            this.ringSetting = ring;
+            this.offset = (position - ringSetting + 26) % 26;
         }
     }
     
     // Inner class untuk Reflector
-    private class Reflector {
-        private String wiring;
+    static class Reflector {
+        private final String letters;
+        private final int[] wiring;
         
         public Reflector(String wiring) {
-            this.wiring = wiring.toUpperCase();
+            this.letters = wiring.toUpperCase();
+            this.wiring = new int[26];
+            for (int i = 0; i < 26; i++) {
+                this.wiring[i] = charToInt(letters.charAt(i));
+            }
         }
         
-        public char reflect(char input) {
-            return wiring.charAt(charToInt(input));
+        String getWiring() {
+            return letters;
+        }
+        
+        public int reflect(int input) {
+            return wiring[input];
         }
     }
     
     // Inner class untuk Plugboard
-    private class Plugboard {
-        private Map<Character, Character> connections;
+    static class Plugboard {
+        private final int[] connections; // Permutasi 26 huruf, awalnya identitas
         
         public Plugboard(String[] pairs) {
-            connections = new HashMap<>();
+            connections = new int[26];
+            for (int i = 0; i < 26; i++) {
+                connections[i] = i;
+            }
             
             for (String pair : pairs) {
                 if (pair.length() == 2) {
-                    char first = Character.toUpperCase(pair.charAt(0));
-                    char second = Character.toUpperCase(pair.charAt(1));
-                    connections.put(first, second);
-                    connections.put(second, first);
+                    int first = charToInt(pair.charAt(0));
+                    int second = charToInt(pair.charAt(1));
+                    if (isLetterIndex(first) && isLetterIndex(second)) {
+                        connections[first] = second;
+                        connections[second] = first;
+                    }
+                }
+            }
+        }
+        
+        public int swap(int input) {
+            return connections[input];
+        }
+    }
+    
+    // Tabel stepping untuk satu kombinasi notch, immutable dan dipakai bersama semua mesin
+    // dengan notch yang sama. State adalah posisi sampai 3 rotor paling kanan sebagai angka
+    // basis 26 (rotor kiri digit tertinggi). Karena double stepping, lintasan dari state mana
+    // pun masuk ke sebuah siklus (16.900 state untuk tiga rotor satu notch) setelah beberapa
+    // langkah, jadi seek cukup index di siklus ditambah n modulo panjang siklus.
+    // Rotor melangkah keempat (mis. "I II III IV") tidak memengaruhi tiga rotor di kanannya;
+    // ia maju tepat saat rotor di sebelahnya ada di notch ("carry"), jadi posisinya dihitung
+    // dari jumlah carry per siklus tanpa memperbesar tabel.
+    static final class Stepping {
+        static final int TABLE_ROTORS = 3;  // 26^3 state masih muat di short
+        static final int MAX_ROTORS = TABLE_ROTORS + 1;
+        
+        private static final ConcurrentHashMap<String, Stepping> TABLES = new ConcurrentHashMap<>();
+        
+        final int rotors;                 // Jumlah rotor di dalam state (paling banyak 3)
+        final int states;
+        final short[] next;               // State setelah satu ketukan
+        private final int carryNotches;   // Notch rotor kiri tabel jika ada rotor keempat, selain itu 0
+        private final short[] index;      // Urutan state di siklusnya, -1 untuk state transien
+        private final short[] cycleOf;    // Nomor siklus state (hanya jika index >= 0)
+        private final short[][] cycles;   // State per siklus sesuai urutan stepping
+        private final int[][] carriesBefore;  // Jumlah carry sebelum index siklus; null tanpa rotor keempat
+        
+        // Tabel untuk wheel dari firstStepping ke kanan; null jika lebih dari MAX_ROTORS rotor.
+        // Notch rotor melangkah paling kiri tidak pernah dibaca, jadi tidak ikut kunci.
+        static Stepping forWheels(Wheel[] wheels, int firstStepping) {
+            int count = wheels.length - firstStepping;
+            if (count > MAX_ROTORS) {
+                return null;
+            }
+            StringBuilder key = new StringBuilder().append(count);
+            for (int i = firstStepping + 1; i < wheels.length; i++) {
+                key.append(' ').append(wheels[i].notches);
+            }
+            return TABLES.computeIfAbsent(key.toString(),
+                    k -> new Stepping(Arrays.copyOfRange(wheels, firstStepping, wheels.length)));
+        }
+        
+        private Stepping(Wheel[] wheels) {
+            int count = wheels.length;
+            int extra = Math.max(0, count - TABLE_ROTORS);
+            rotors = count - extra;
+            int total = 1;
+            for (int i = 0; i < rotors; i++) {
+                total *= 26;
+            }
+            states = total;
+            carryNotches = extra > 0 ? wheels[extra].notches : 0;
+            
+            // 1. next[] dengan aturan stepping yang sama seperti mesin tanpa tabel;
+            // rotor keempat ikut disimulasikan supaya double stepping di kanannya benar
+            Rotor[] machine = new Rotor[count];
+            for (int i = 0; i < count; i++) {
+                machine[i] = new Rotor(wheels[i], 0, 0);
+            }
+            next = new short[states];
+            for (int state = 0; state < states; state++) {
+                int rest = state;
+                for (int i = count - 1; i >= extra; i--) {
+                    machine[i].setPositionIndex(rest % 26);
+                    rest /= 26;
+                }
+                stepRotors(machine, 0);
+                int stepped = 0;
+                for (int i = extra; i < count; i++) {
+                    stepped = stepped * 26 + machine[i].position;
+                }
+                next[state] = (short) stepped;
+            }
+            
+            // 2. Siklus: telusuri dari tiap state yang belum dikunjungi sampai bertemu state
+            // lama; jika state itu ada di jalur yang sama, jalur sejak state itu siklus baru
+            index = new short[states];
+            cycleOf = new short[states];
+            Arrays.fill(index, (short) -1);
+            int[] walk = new int[states];
+            Arrays.fill(walk, -1);
+            int[] path = new int[states];
+            List<short[]> found = new ArrayList<>();
+            for (int first = 0; first < states; first++) {
+                int length = 0;
+                int state = first;
+                while (walk[state] < 0) {
+                    walk[state] = first;
+                    path[length++] = state;
+                    state = next[state];
+                }
+                if (walk[state] != first) {
+                    continue;
+                }
+                int from = length - 1;
+                while (path[from] != state) {
+                    from--;
+                }
+                short[] cycle = new short[length - from];
+                for (int i = from; i < length; i++) {
+                    cycle[i - from] = (short) path[i];
+                    index[path[i]] = (short) (i - from);
+                    cycleOf[path[i]] = (short) found.size();
+                }
+                found.add(cycle);
+            }
+            cycles = found.toArray(new short[0][]);
+            
+            // 3. Prefix jumlah carry per siklus untuk rotor keempat
+            if (extra == 0) {
+                carriesBefore = null;
+                return;
+            }
+            carriesBefore = new int[cycles.length][];
+            for (int c = 0; c < cycles.length; c++) {
+                short[] cycle = cycles[c];
+                int[] prefix = new int[cycle.length + 1];
+                for (int i = 0; i < cycle.length; i++) {
+                    prefix[i + 1] = prefix[i] + (carries(cycle[i]) ? 1 : 0);
                 }
+                carriesBefore[c] = prefix;
+            }
+        }
+        
+        boolean hasCarry() {
+            return carriesBefore != null;
+        }
+        
+        // Rotor keempat maju pada ketukan dari state ini (rotor kiri tabel di notch)
+        boolean carries(int state) {
+            return (carryNotches >>> (state / (states / 26)) & 1) != 0;
+        }
+        
+        // State setelah n ketukan dari state
+        int seek(int state, long n) {
+            while (n > 0 && index[state] < 0) {
+                state = next[state];
+                n--;
+            }
+            if (index[state] < 0) {
+                return state;
+            }
+            short[] cycle = cycles[cycleOf[state]];
+            return cycle[(int) ((index[state] + n) % cycle.length)];
+        }
+        
+        // Berapa kali rotor keempat maju dalam n ketukan dari state, modulo 26
+        int carries(int state, long n) {
+            long count = 0;
+            while (n > 0 && index[state] < 0) {
+                if (carries(state)) count++;
+                state = next[state];
+                n--;
+            }
+            if (n == 0) {
+                return (int) (count % 26);
+            }
+            int[] prefix = carriesBefore[cycleOf[state]];
+            int length = prefix.length - 1;
+            int from = index[state];
+            int rest = (int) (n % length);
+            count += n / length % 26 * prefix[length];
+            if (from + rest <= length) {
+                count += prefix[from + rest] - prefix[from];
+            } else {
+                count += prefix[length] - prefix[from] + prefix[from + rest - length];
             }
+            return (int) (count % 26);
         }
         
-        public char swap(char input) {
-            return connections.getOrDefault(Character.toUpperCase(input), Character.toUpperCase(input));
+        int cycleCount() {
+            return cycles.length;
         }
     }
     
     // Constructor utama
     public Enigma(String[] rotorWires, char[] notches, String reflectorWiring, 
                   String ringSettings, String initialPositions, String[] plugboardPairs) {
-        
-        numberOfRotors = rotorWires.length;
+        this(new EnigmaConfig(rotorWires, notches, reflectorWiring,
+                ringSettings, initialPositions, plugboardPairs));
+    }
+    
+    // Mesin dari config yang sudah dikompilasi: tabel dipakai bersama,
+    // hanya posisi rotor yang disalin
+    public Enigma(EnigmaConfig config) {
+        this.config = config;
+        numberOfRotors = config.rotors.length;
+        firstStepping = config.fixedRotors;
         rotors = new Rotor[numberOfRotors];
+        for (int i = 0; i < numberOfRotors; i++) {
+            rotors[i] = new Rotor(config.rotors[i]);
+        }
         
-        // Parse ring settings dan initial positions
-        String[] ringParts = ringSettings.trim().split("\\s+");
-        String[] posParts = initialPositions.trim().split("\\s+");
+        reflector = config.reflector;
+        plugboard = config.plugboard;
+        stepping = config.stepping;
+        tableFirst = stepping != null ? numberOfRotors - stepping.rotors : 0;
         
-        // Buat rotors
+        markStartPositions();
+        EnigmaMetrics.recordMachine();
+    }
+    
+    // Salinan mesin dengan keadaan rotor yang sama; tabel wiring, reflector,
+    // plugboard dan stepping dipakai bersama karena tidak pernah diubah
+    private Enigma(Enigma other) {
+        config = other.config;
+        numberOfRotors = other.numberOfRotors;
+        firstStepping = other.firstStepping;
+        rotors = new Rotor[numberOfRotors];
         for (int i = 0; i < numberOfRotors; i++) {
-            int ringSetting = (i < ringParts.length) ? charToInt(ringParts[i].charAt(0)) : 0;
-            int initialPos = (i < posParts.length) ? charToInt(posParts[i].charAt(0)) : 0;
-            
-            rotors[i] = new Rotor(rotorWires[i], notches[i], ringSetting, initialPos);
+            rotors[i] = new Rotor(other.rotors[i]);
         }
-        
-        // Buat reflector dan plugboard
-        reflector = new Reflector(reflectorWiring);
-        plugboard = new Plugboard(plugboardPairs);
+        reflector = other.reflector;
+        plugboard = other.plugboard;
+        stepping = other.stepping;
+        tableFirst = other.tableFirst;
+        steppingState = other.steppingState;
+        fixedState = other.fixedState;
+        startState = other.startState;
+        startPositions = other.startPositions;
+        offset = other.offset;
+        EnigmaMetrics.recordMachine();
+    }
+    
+    // Kunci baru (ring setting, posisi awal, plugboard) untuk urutan wheel yang sama,
+    // supaya EnigmaBatch bisa memakai ulang mesin dari pool. getConfig() tetap
+    // mengembalikan config asal; mesin seperti ini tidak keluar dari EnigmaBatch.
+    void rekey(int[] ringSettings, int[] positions, Plugboard plugboard) {
+        for (int i = 0; i < numberOfRotors; i++) {
+            rotors[i].setRingSetting(ringSettings[i]);
+            rotors[i].setPositionIndex(positions[i]);
+        }
+        this.plugboard = plugboard;
+        if (cachedStates != null) {
+            Arrays.fill(cachedStates, -1L);
+        }
+        markStartPositions();
+    }
+    
+    public Enigma copy() {
+        return new Enigma(this);
+    }
+    
+    public EnigmaConfig getConfig() {
+        return config;
     }
     
     // Method enkripsi utama
     public String encipher(String input) {
-        StringBuilder result = new StringBuilder();
+        char[] chars = input.toCharArray();
+        encipher(chars, 0, chars.length, chars, 0);
+        return new String(chars);
+    }
+    
+    // Enkripsi bulk ke buffer milik pemanggil tanpa alokasi per panggilan.
+    // src dan dst boleh array yang sama (enkripsi in-place).
+    public void encipher(char[] src, int off, int len, char[] dst, int dstOff) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        long started = EnigmaMetrics.start();
+        long startOffset = offset;
         
-        for (char c : input.toCharArray()) {
+        for (int i = 0; i < len; i++) {
+            char c = src[off + i];
             if (Character.isLetter(c)) {
-                result.append(encipherChar(Character.toUpperCase(c)));
+                dst[dstOff + i] = encipherChar(Character.toUpperCase(c));
             } else {
-                result.append(c); // Non-alphabetic characters pass through
+                dst[dstOff + i] = c; // Non-alphabetic characters pass through
             }
         }
+        EnigmaMetrics.recordEncipher(len, offset - startOffset, started);
+    }
+    
+    // Varian bulk untuk teks ASCII: hanya A-Z/a-z yang dienkripsi (output huruf besar),
+    // byte lain termasuk byte non-ASCII diteruskan apa adanya tanpa memajukan rotor.
+    // Huruf non-ASCII yang dienkripsi encipher(String) tidak tersentuh di sini, jadi
+    // kedua jalur hanya sama untuk teks yang hurufnya ASCII.
+    public void encipher(byte[] src, int off, int len, byte[] dst, int dstOff) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        Objects.checkFromIndexSize(dstOff, len, dst.length);
+        long started = EnigmaMetrics.start();
+        long startOffset = offset;
+        
+        for (int i = 0; i < len; i++) {
+            byte b = src[off + i];
+            int index = (b | 0x20) - 'a';
+            if (isLetterIndex(index)) {
+                dst[dstOff + i] = (byte) ('A' + encipherIndex(index));
+            } else {
+                dst[dstOff + i] = b;
+            }
+        }
+        EnigmaMetrics.recordEncipher(len, offset - startOffset, started);
+    }
+    
+    // Varian ByteBuffer (mis. MappedByteBuffer) dengan aturan yang sama seperti byte[]:
+    // memproses src.remaining() byte ke dst lalu memajukan posisi keduanya.
+    // src dan dst boleh buffer yang sama (enkripsi in-place).
+    public void encipher(ByteBuffer src, ByteBuffer dst) {
+        int len = src.remaining();
+        if (dst.remaining() < len) {
+            throw new BufferOverflowException();
+        }
         
-        return result.toString();
+        long started = EnigmaMetrics.start();
+        long startOffset = offset;
+        int from = src.position();
+        int to = dst.position();
+        for (int i = 0; i < len; i++) {
+            byte b = src.get(from + i);
+            int index = (b | 0x20) - 'a';
+            if (isLetterIndex(index)) {
+                dst.put(to + i, (byte) ('A' + encipherIndex(index)));
+            } else {
+                dst.put(to + i, b);
+            }
+        }
+        src.position(from + len);
+        dst.position(to + len);
+        EnigmaMetrics.recordEncipher(len, offset - startOffset, started);
+    }
+    
+    // Enkripsi paralel untuk input besar. Input dipotong per PARALLEL_CHUNK_SIZE
+    // karakter; tiap potongan dienkripsi oleh salinan mesin yang di-seek ke jumlah
+    // huruf sebelum potongan itu, jadi hasilnya sama persis dengan encipher().
+    public String encipherParallel(CharSequence input, ForkJoinPool pool) {
+        int length = input.length();
+        int chunks = (length + PARALLEL_CHUNK_SIZE - 1) / PARALLEL_CHUNK_SIZE;
+        if (chunks <= 1 || stepping == null) {
+            // Tanpa tabel stepping seek harus mensimulasikan, jadi tidak ada untungnya
+            return encipher(input.toString());
+        }
+        
+        // 1. Salin input dan hitung huruf per potongan
+        char[] buffer = new char[length];
+        long[] letterOffsets = new long[chunks + 1];
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            int from = chunk * PARALLEL_CHUNK_SIZE;
+            int to = Math.min(length, from + PARALLEL_CHUNK_SIZE);
+            long letters = 0;
+            for (int i = from; i < to; i++) {
+                char c = input.charAt(i);
+                buffer[i] = c;
+                if (Character.isLetter(c)) letters++;
+            }
+            letterOffsets[chunk + 1] = letters;
+        }));
+        
+        letterOffsets[0] = offset;
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            letterOffsets[chunk + 1] += letterOffsets[chunk];
+        }
+        
+        // 2. Enkripsi tiap potongan dengan salinan mesin pada offset-nya
+        pool.invoke(new ChunkTask(0, chunks, chunk -> {
+            int from = chunk * PARALLEL_CHUNK_SIZE;
+            int to = Math.min(length, from + PARALLEL_CHUNK_SIZE);
+            Enigma machine = copy();
+            machine.seek(letterOffsets[chunk]);
+            machine.encipher(buffer, from, to - from, buffer, from);
+        }));
+        
+        seek(letterOffsets[chunks]);
+        return new String(buffer);
+    }
+    
+    // Membagi rentang potongan secara rekursif untuk work-stealing ForkJoinPool
+    static class ChunkTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+        
+        ChunkTask(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+        
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                body.accept(from);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new ChunkTask(from, mid, body), new ChunkTask(mid, to, body));
+        }
     }
     
     private char encipherChar(char input) {
-        // Reset advanced flags
-        for (Rotor rotor : rotors) {
-            rotor.resetAdvancedFlag();
+        int index = charToInt(input);
+        if (isLetterIndex(index)) {
+            return intToChar(encipherIndex(index));
         }
         
+        // Huruf non-ASCII tidak melewati plugboard masuk, hanya dipetakan modulo 26
+        advanceRotors();
+        return intToChar(plugboard.swap(scramble(index % 26)));
+    }
+    
+    private int encipherIndex(int index) {
         // Advance rotors sesuai mekanisme Enigma
         advanceRotors();
         
-        char current = input;
+        if (substitutionCache != null) {
+            return substitutionCache[cachedSubstitution() + index];
+        }
         
         // 1. Through plugboard
-        current = plugboard.swap(current);
+        int current = plugboard.swap(index);
+        
+        // 2-4. Through rotors, reflector, and back
+        current = scramble(current);
         
-        // 2. Through rotors (right to left)
+        // 5. Back through plugboard
+        return plugboard.swap(current);
+    }
+    
+    private int scramble(int current) {
+        // Through rotors (right to left)
         for (int i = numberOfRotors - 1; i >= 0; i--) {
             current = rotors[i].encodeForward(current);
         }
         
-        // 3. Through reflector
+        // Through reflector
         current = reflector.reflect(current);
         
-        // 4. Back through rotors (left to right)
+        // Back through rotors (left to right)
         for (int i = 0; i < numberOfRotors; i++) {
             current = rotors[i].encodeBackward(current);
         }
         
-        // 5. Back through plugboard
-        current = plugboard.swap(current);
-        
         return current;
     }
     
-    private void advanceRotors() {
-        if (numberOfRotors < 1) return;
+    // Aktifkan cache substitusi: setelah terisi, tiap huruf cukup satu lookup tabel
+    // ditambah stepping. Sampai 3 rotor semua 17.576 posisi mendapat slot sendiri
+    // (sekitar 457 KB); lebih dari itu cache dibatasi 65.536 slot direct-mapped.
+    public void setSubstitutionCacheEnabled(boolean enabled) {
+        if (!enabled) {
+            substitutionCache = null;
+            cachedStates = null;
+            return;
+        }
+        if (substitutionCache != null) return;
         
-        // Enigma stepping mechanism
-        boolean[] shouldAdvance = new boolean[numberOfRotors];
+        long states = 1;
+        for (int i = 0; i < numberOfRotors && states <= MAX_CACHE_SLOTS; i++) {
+            states *= 26;
+        }
+        int slots = (int) Math.min(states, MAX_CACHE_SLOTS);
+        cachedStates = new long[slots];
+        Arrays.fill(cachedStates, -1L);
+        substitutionCache = new byte[slots * 26];
+    }
+    
+    public boolean isSubstitutionCacheEnabled() {
+        return substitutionCache != null;
+    }
+    
+    // Offset slot cache untuk posisi rotor saat ini, diisi dulu jika belum ada
+    private int cachedSubstitution() {
+        long state;
+        if (stepping != null) {
+            state = fixedState + steppingState;
+        } else {
+            state = 0;
+            for (int i = 0; i < numberOfRotors; i++) {
+                state = state * 26 + rotors[i].position;
+            }
+        }
+        int slot = (int) (state % cachedStates.length);
+        int base = slot * 26;
         
-        // Rightmost rotor always advances
-        shouldAdvance[numberOfRotors - 1] = true;
+        if (cachedStates[slot] != state) {
+            for (int letter = 0; letter < 26; letter++) {
+                substitutionCache[base + letter] = (byte) plugboard.swap(scramble(plugboard.swap(letter)));
+            }
+            cachedStates[slot] = state;
+        }
+        return base;
+    }
+    
+    // Package-private supaya jalur stepping bisa di-benchmark tersendiri
+    void advanceRotors() {
+        offset++;
+        if (stepping == null) {
+            stepRotors(rotors, firstStepping);
+            return;
+        }
         
-        // Check for double-stepping dan notch positions
-        for (int i = numberOfRotors - 2; i >= 0; i--) {
-            // Jika rotor di sebelah kanan ada di notch position
-            if (rotors[i + 1].isAtNotch()) {
-                shouldAdvance[i] = true;
-                // Double stepping: jika rotor tengah akan advance, rotor tengah juga advance
-                if (i < numberOfRotors - 1) {
-                    shouldAdvance[i + 1] = true;
-                }
+        // Rotor kanan selalu maju; rotor lain hanya berubah di notch (sekitar 1 dari 26 ketukan).
+        // Carry ke rotor keempat selalu disertai double step rotor kiri tabel, jadi ikut di sini.
+        int current = steppingState;
+        int next = stepping.next[current];
+        rotors[numberOfRotors - 1].advance();
+        if (next / 26 != current / 26) {
+            int rest = next / 26;
+            for (int i = numberOfRotors - 2; i >= tableFirst; i--) {
+                rotors[i].setPositionIndex(rest % 26);
+                rest /= 26;
+            }
+            if (stepping.carries(current)) {
+                rotors[tableFirst - 1].advance();
+                fixedState = prefixState();
             }
         }
+        steppingState = next;
+    }
+    
+    // Satu ketukan dengan membaca notch langsung; dipakai tanpa tabel dan untuk membangun tabel
+    static void stepRotors(Rotor[] rotors, int firstStepping) {
+        int numberOfRotors = rotors.length;
+        if (numberOfRotors < 1) return;
         
-        // Advance rotors yang perlu diadvance
-        for (int i = 0; i < numberOfRotors; i++) {
-            if (shouldAdvance[i]) {
+        // Enigma stepping mechanism, dievaluasi dari kiri ke kanan supaya
+        // notch rotor kanan masih dibaca dari posisi sebelum melangkah.
+        // Wheel tetap M4 dilewati; loop tetap tiga iterasi seperti M3.
+        int rightmost = numberOfRotors - 1;
+        for (int i = firstStepping; i < numberOfRotors; i++) {
+            boolean step;
+            if (i == rightmost) {
+                // Rightmost rotor always advances
+                step = true;
+            } else {
+                // Maju jika rotor di sebelah kanan ada di notch position,
+                // atau double stepping: rotor ini sendiri di notch dan ikut
+                // mendorong rotor di sebelah kirinya.
+                step = rotors[i + 1].isAtNotch() || (i > firstStepping && rotors[i].isAtNotch());
+            }
+            if (step) {
                 rotors[i].advance();
             }
         }
@@ -213,7 +744,7 @@ public class Enigma {
         return positions.toString();
     }
     
-    // Method untuk reset posisi rotor
+    // Method untuk reset posisi rotor (sekaligus menjadi posisi awal baru untuk seek)
     public void resetRotorPositions(String positions) {
         String[] posParts = positions.trim().split("\\s+");
         for (int i = 0; i < numberOfRotors && i < posParts.length; i++) {
@@ -221,17 +752,171 @@ public class Enigma {
                 rotors[i].setPosition(posParts[i].charAt(0));
             }
         }
+        markStartPositions();
+    }
+    
+    // Jumlah huruf yang sudah dienkripsi sejak posisi awal
+    public long getOffset() {
+        return offset;
+    }
+    
+    // Lompat ke keadaan mesin setelah n ketukan dari posisi awal. Dengan tabel stepping
+    // bersama cukup satu lookup di siklus stepping, tanpa mensimulasikan n langkah.
+    public void seek(long n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Seek offset must not be negative: " + n);
+        }
+        EnigmaMetrics.recordSeek();
+        
+        if (stepping == null) {
+            // Ruang state terlalu besar untuk ditabelkan, simulasikan dari posisi awal
+            setState(startPositions);
+            for (long i = 0; i < n; i++) {
+                stepRotors(rotors, firstStepping);
+            }
+        } else {
+            setSteppingState(stepping.seek(startState, n));
+            if (stepping.hasCarry()) {
+                int carried = tableFirst - 1;
+                rotors[carried].setPositionIndex((startPositions[carried] + stepping.carries(startState, n)) % 26);
+                fixedState = prefixState();
+            }
+        }
+        offset = n;
+    }
+    
+    // Mundur sejumlah ketukan, mis. saat huruf terakhir dihapus di GUI. Stepping tidak
+    // bisa dibalik langsung: karena double stepping beberapa posisi punya dua pendahulu,
+    // jadi posisi dihitung maju dari posisi awal lewat seek().
+    public void rewind(long steps) {
+        if (steps < 0 || steps > offset) {
+            throw new IllegalArgumentException("Cannot rewind " + steps + " steps from offset " + offset);
+        }
+        seek(offset - steps);
+    }
+    
+    private void markStartPositions() {
+        startPositions = currentPositions();
+        syncState();
+        startState = steppingState;
+        offset = 0;
+    }
+    
+    // Tabel scrambler (rotor + reflector, tanpa plugboard) untuk semua state rotor,
+    // table[state * 26 + huruf]. Dipakai Bombe; hanya untuk sampai MAX_SCRAMBLER_ROTORS rotor.
+    byte[] scramblerTable() {
+        int states = stateCount();
+        byte[] table = new byte[states * 26];
+        int[] saved = currentPositions();
+        for (int state = 0; state < states; state++) {
+            setState(state);
+            for (int letter = 0; letter < 26; letter++) {
+                table[state * 26 + letter] = (byte) scramble(letter);
+            }
+        }
+        setState(saved);
+        return table;
+    }
+    
+    // Scrambler (tanpa plugboard) untuk length huruf berikutnya dari posisi saat ini,
+    // table[i * 26 + huruf]; mesin ikut melangkah length kali. Dipakai serangan ciphertext-only.
+    byte[] scramblerSequence(int length) {
+        byte[] table = new byte[length * 26];
+        for (int i = 0; i < length; i++) {
+            advanceRotors();
+            for (int letter = 0; letter < 26; letter++) {
+                table[i * 26 + letter] = (byte) scramble(letter);
+            }
+        }
+        return table;
+    }
+    
+    // next[state] adalah state rotor yang melangkah setelah satu ketukan (tanpa wheel tetap,
+    // jadi sama dengan state scramblerTable untuk Enigma I/M3). Tabel bersama, jangan diubah.
+    short[] nextStateTable() {
+        if (stepping == null || tableFirst != firstStepping) {
+            throw new IllegalStateException("Too many stepping rotors to tabulate: " + (numberOfRotors - firstStepping));
+        }
+        return stepping.next;
+    }
+    
+    private int stateCount() {
+        if (numberOfRotors > MAX_SCRAMBLER_ROTORS) {
+            throw new IllegalStateException("Too many rotors to tabulate: " + numberOfRotors);
+        }
+        int states = 1;
+        for (int i = 0; i < numberOfRotors; i++) {
+            states *= 26;
+        }
+        return states;
+    }
+    
+    private int[] currentPositions() {
+        int[] positions = new int[numberOfRotors];
+        for (int i = 0; i < numberOfRotors; i++) {
+            positions[i] = rotors[i].position;
+        }
+        return positions;
+    }
+    
+    // Hitung ulang steppingState dan fixedState setelah posisi rotor diubah langsung
+    private void syncState() {
+        if (stepping == null) {
+            return;
+        }
+        int state = 0;
+        for (int i = tableFirst; i < numberOfRotors; i++) {
+            state = state * 26 + rotors[i].position;
+        }
+        fixedState = prefixState();
+        steppingState = state;
+    }
+    
+    // Rotor di kiri tabel stepping sebagai bagian atas state lengkap
+    private int prefixState() {
+        int prefix = 0;
+        for (int i = 0; i < tableFirst; i++) {
+            prefix = prefix * 26 + rotors[i].position;
+        }
+        return prefix * stepping.states;
+    }
+    
+    private void setSteppingState(int state) {
+        steppingState = state;
+        for (int i = numberOfRotors - 1; i >= tableFirst; i--) {
+            rotors[i].setPositionIndex(state % 26);
+            state /= 26;
+        }
+    }
+    
+    private void setState(int state) {
+        for (int i = numberOfRotors - 1; i >= 0; i--) {
+            rotors[i].setPositionIndex(state % 26);
+            state /= 26;
+        }
+        syncState();
+    }
+    
+    private void setState(int[] positions) {
+        for (int i = 0; i < numberOfRotors; i++) {
+            rotors[i].setPositionIndex(positions[i]);
+        }
+        syncState();
     }
     
     // Utility methods
-    private int charToInt(char c) {
+    private static int charToInt(char c) {
         return Character.toUpperCase(c) - 'A';
     }
     
-    private char intToChar(int i) {
+    private static char intToChar(int i) {
         return (char) ('A' + (i % 26));
     }
     
+    private static boolean isLetterIndex(int i) {
+        return i >= 0 && i < 26;
+    }
+    
     // Method untuk mendapatkan informasi konfigurasi
     public String getConfiguration() {
         StringBuilder config = new StringBuilder();
@@ -0,0 +1,220 @@
+package enigmaproject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * EnigmaBatch
+ * - Enkripsi/dekripsi banyak pesan pendek, masing-masing dengan kunci sendiri
+ *   (urutan rotor, reflector, ring setting, posisi awal, plugboard)
+ * - Key di-parse dan divalidasi sekali saat dibuat, bukan per pesan; satu Key boleh
+ *   dipakai untuk banyak pesan (mis. satu baris lembar kunci harian)
+ * - Setiap urutan wheel yang berbeda dikompilasi sekali menjadi config template dengan
+ *   pool mesin sendiri; mesin dipakai ulang dengan kunci baru, tanpa alokasi per pesan
+ * - Paralel per blok pesan di ForkJoinPool; hasil selalu sesuai urutan input
+ * - Thread-safe: satu EnigmaBatch boleh dipakai bersamaan, pool mesin ikut dipakai ulang
+ */
+public final class EnigmaBatch {
+
+    private static final int MESSAGES_PER_TASK = 64;
+
+    private final ConcurrentHashMap<String, WheelOrder> wheelOrders = new ConcurrentHashMap<>();
+
+    // Satu kunci harian: wheel dari EnigmaCatalog, setting sudah dalam bentuk index
+    public static final class Key {
+        private final String[] rotorNames;
+        private final String reflectorName;
+        private final String ringSettings;
+        private final String initialPositions;
+        private final String[] plugboardPairs;
+
+        private final String wheelOrder;       // Nama wheel kanonik + wiring reflector
+        private final Enigma.Wheel[] wheels;
+        private final Enigma.Reflector reflector;
+        private final int[] rings;
+        private final int[] positions;
+        private final Enigma.Plugboard plugboard;
+
+        public Key(String[] rotorNames, String reflectorName, String ringSettings,
+                   String initialPositions, String[] plugboardPairs) {
+            wheels = EnigmaCatalog.wheels(rotorNames);
+            StringBuilder order = new StringBuilder();
+            for (Enigma.Wheel wheel : wheels) {
+                order.append(wheel.name).append(' ');
+            }
+            reflector = EnigmaCatalog.reflector(reflectorName);
+            wheelOrder = order.append(reflector.getWiring()).toString();
+
+            rings = EnigmaConfig.parseLetters(ringSettings, wheels.length, "Ring settings");
+            positions = EnigmaConfig.parseLetters(initialPositions, wheels.length, "Initial positions");
+            plugboard = EnigmaConfig.compilePlugboard(plugboardPairs);
+
+            this.rotorNames = rotorNames.clone();
+            this.reflectorName = reflectorName;
+            this.ringSettings = ringSettings.trim();
+            this.initialPositions = initialPositions.trim();
+            this.plugboardPairs = plugboardPairs.clone();
+        }
+
+        public String[] getRotorNames() {
+            return rotorNames.clone();
+        }
+
+        public String getReflectorName() {
+            return reflectorName;
+        }
+
+        public String getRingSettings() {
+            return ringSettings;
+        }
+
+        public String getInitialPositions() {
+            return initialPositions;
+        }
+
+        public String[] getPlugboardPairs() {
+            return plugboardPairs.clone();
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Rotors %s | %s | Ring %s | Pos %s | Plugs %s",
+                    String.join(" ", rotorNames), reflectorName, ringSettings, initialPositions,
+                    String.join(" ", plugboardPairs));
+        }
+    }
+
+    // Pasangan (kunci, teks) dalam satu batch
+    public static final class Message {
+        private final Key key;
+        private final String text;
+
+        public Message(Key key, String text) {
+            if (key == null || text == null) {
+                throw new IllegalArgumentException("Message needs a key and a text");
+            }
+            this.key = key;
+            this.text = text;
+        }
+
+        public Key getKey() {
+            return key;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    // Hasil batch sesuai urutan input, plus throughput
+    public static final class Result {
+        private final List<String> outputs;
+        private final long characters;
+        private final long elapsedNanos;
+
+        Result(List<String> outputs, long characters, long elapsedNanos) {
+            this.outputs = outputs;
+            this.characters = characters;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public List<String> getOutputs() {
+            return outputs;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public double getMessagesPerSecond() {
+            return outputs.size() * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        public double getCharactersPerSecond() {
+            return characters * 1e9 / Math.max(1, elapsedNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d messages in %.1f ms (%.0f messages/s, %.1f M chars/s)",
+                    outputs.size(), elapsedNanos / 1e6, getMessagesPerSecond(), getCharactersPerSecond() / 1e6);
+        }
+    }
+
+    // Config template (ring/posisi A, tanpa plugboard) dan mesin yang sedang tidak dipakai
+    private static final class WheelOrder {
+        private final EnigmaConfig template;
+        private final ConcurrentLinkedQueue<Enigma> idle = new ConcurrentLinkedQueue<>();
+
+        WheelOrder(Key key) {
+            String letters = String.join(" ", Collections.nCopies(key.wheels.length, "A"));
+            template = new EnigmaConfig(key.wheels, key.reflector, letters, letters, new String[]{});
+        }
+
+        Enigma acquire() {
+            Enigma machine = idle.poll();
+            return machine != null ? machine : template.newMachine();
+        }
+
+        void release(Enigma machine) {
+            idle.offer(machine);
+        }
+    }
+
+    public Result run(List<Message> messages) {
+        return run(messages, ForkJoinPool.commonPool());
+    }
+
+    public Result run(List<Message> messages, ForkJoinPool pool) {
+        long started = System.nanoTime();
+        int count = messages.size();
+        Message[] batch = messages.toArray(new Message[0]);
+
+        // 1. Urutan wheel per pesan; yang belum pernah dipakai dikompilasi sekali di sini,
+        // jadi error konfigurasi (mis. Beta bukan di kiri) muncul sebelum enkripsi
+        WheelOrder[] orders = new WheelOrder[count];
+        long characters = 0;
+        for (int i = 0; i < count; i++) {
+            Key key = batch[i].key;
+            orders[i] = wheelOrders.computeIfAbsent(key.wheelOrder, order -> new WheelOrder(key));
+            characters += batch[i].text.length();
+        }
+
+        // 2. Per blok pesan: satu mesin dari pool per urutan wheel, di-rekey per pesan
+        String[] outputs = new String[count];
+        int tasks = (count + MESSAGES_PER_TASK - 1) / MESSAGES_PER_TASK;
+        if (tasks > 0) {
+            pool.invoke(new Enigma.ChunkTask(0, tasks, task -> {
+                int from = task * MESSAGES_PER_TASK;
+                int to = Math.min(count, from + MESSAGES_PER_TASK);
+                WheelOrder order = null;
+                Enigma machine = null;
+                for (int i = from; i < to; i++) {
+                    if (orders[i] != order) {
+                        if (machine != null) {
+                            order.release(machine);
+                        }
+                        order = orders[i];
+                        machine = order.acquire();
+                    }
+                    Key key = batch[i].key;
+                    machine.rekey(key.rings, key.positions, key.plugboard);
+                    outputs[i] = machine.encipher(batch[i].text);
+                }
+                order.release(machine);
+            }));
+        }
+
+        return new Result(Collections.unmodifiableList(Arrays.asList(outputs)),
+                characters, System.nanoTime() - started);
+    }
+
+    // Jumlah urutan wheel berbeda yang sudah dikompilasi oleh batch ini
+    public int getCompiledWheelOrders() {
+        return wheelOrders.size();
+    }
+}
@@ -0,0 +1,136 @@
+package enigmaproject;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * EnigmaCatalog
+ * - Katalog wheel dan reflector historis: rotor I-VIII, Beta/Gamma dan UKW-A/B/C,
+ *   serta reflector tipis UKW-B-thin/UKW-C-thin untuk M4
+ * - Mesin dan config dibangun dari nama, mis. rotor "I II III" dengan reflector "UKW-B",
+ *   atau M4: rotor "Beta II IV I" dengan reflector "UKW-B-thin" dan empat huruf ring/posisi
+ * - Setiap wheel dikompilasi sekali saat class dimuat; semua config dari katalog
+ *   memakai tabel yang sama, jadi mencoba 336 urutan dari 8 rotor tidak
+ *   membangun ulang tabel wiring
+ * - Rotor VI-VIII punya dua notch (Z dan M); Beta dan Gamma tidak punya notch
+ */
+public final class EnigmaCatalog {
+
+    private static final Map<String, Enigma.Wheel> WHEELS = new LinkedHashMap<>();
+    private static final Map<String, Enigma.Reflector> REFLECTORS = new LinkedHashMap<>();
+    private static final Map<String, String> REFLECTOR_NAMES = new LinkedHashMap<>();
+
+    static {
+        // Enigma I / M3 (Heer, Luftwaffe, Kriegsmarine)
+        addWheel("I", "EKMFLGDQVZNTOWYHXUSPAIBRCJ", "Q", false);
+        addWheel("II", "AJDKSIRUXBLHWTMCQGZNPYFVOE", "E", false);
+        addWheel("III", "BDFHJLCPRTXVZNYEIWGAKMUSQO", "V", false);
+        addWheel("IV", "ESOVPZJAYQUIRHXLNFTGKDCMWB", "J", false);
+        addWheel("V", "VZBRGITYUPSDNHLXAWMJQOFECK", "Z", false);
+        // Khusus Kriegsmarine
+        addWheel("VI", "JPGVOUMFYQBENHZRDKASXLICTW", "ZM", false);
+        addWheel("VII", "NZJHGRCXMYSWBOUFAIVLPEKQDT", "ZM", false);
+        addWheel("VIII", "FKQHTLXOCBJSPDZRAMEWNIUYGV", "ZM", false);
+        // Wheel keempat M4 (Greek wheel): tanpa notch dan tidak pernah melangkah
+        addWheel("Beta", "LEYJVCNIXWPBQMDRTAKZGFUHOS", "", true);
+        addWheel("Gamma", "FSOKANUERHMBTIYCWLQPZXVGJD", "", true);
+
+        addReflector("UKW-A", "EJMZALYXVBWFCRQUONTSPIKHGD");
+        addReflector("UKW-B", "YRUHQSLDPXNGOKMIEBFZCWVJAT");
+        addReflector("UKW-C", "FVPJIAOYEDRZXWGCTKUQSBNMHL");
+        // Reflector tipis M4, dipasang bersama Beta/Gamma
+        addReflector("UKW-B-thin", "ENKQAUYWJICOPBLMDXZVFTHRGS");
+        addReflector("UKW-C-thin", "RDOBJNTKVEHMLFCWZAXGYIPSUQ");
+    }
+
+    private EnigmaCatalog() {
+    }
+
+    private static void addWheel(String name, String wiring, String notches, boolean fixed) {
+        WHEELS.put(key(name), EnigmaConfig.compileWheel(name, wiring, notches, fixed, "Rotor " + name));
+    }
+
+    private static void addReflector(String name, String wiring) {
+        REFLECTORS.put(key(name), EnigmaConfig.compileReflector(wiring, name));
+        REFLECTOR_NAMES.put(key(name), name);
+    }
+
+    // Nama rotor dalam urutan katalog
+    public static List<String> rotorNames() {
+        List<String> names = new ArrayList<>();
+        for (Enigma.Wheel wheel : WHEELS.values()) {
+            names.add(wheel.name);
+        }
+        return Collections.unmodifiableList(names);
+    }
+
+    public static List<String> reflectorNames() {
+        return Collections.unmodifiableList(new ArrayList<>(REFLECTOR_NAMES.values()));
+    }
+
+    public static String rotorWiring(String name) {
+        return wheel(name).wiring;
+    }
+
+    public static String rotorNotches(String name) {
+        return wheel(name).notchLetters;
+    }
+
+    public static String reflectorWiring(String name) {
+        return reflector(name).getWiring();
+    }
+
+    // rotorNames dari kiri ke kanan, mis. {"I", "II", "III"}; nama tidak case-sensitive
+    public static EnigmaConfig config(String[] rotorNames, String reflectorName, String ringSettings,
+                                      String initialPositions, String[] plugboardPairs) {
+        return new EnigmaConfig(wheels(rotorNames), reflector(reflectorName), ringSettings, initialPositions, plugboardPairs);
+    }
+
+    public static Enigma machine(String[] rotorNames, String reflectorName, String ringSettings,
+                                 String initialPositions, String[] plugboardPairs) {
+        return config(rotorNames, reflectorName, ringSettings, initialPositions, plugboardPairs).newMachine();
+    }
+
+    // Wheel terkompilasi (dipakai bersama) untuk Bombe dan RotorStartSearch
+    static Enigma.Wheel wheel(String name) {
+        Enigma.Wheel wheel = WHEELS.get(key(name));
+        if (wheel == null) {
+            throw new IllegalArgumentException("Unknown rotor '" + name + "', expected one of " + rotorNames());
+        }
+        return wheel;
+    }
+
+    // Wheel untuk daftar nama; tiap wheel fisik hanya ada satu, jadi nama ganda ditolak
+    static Enigma.Wheel[] wheels(String[] names) {
+        Enigma.Wheel[] wheels = new Enigma.Wheel[names.length];
+        for (int i = 0; i < wheels.length; i++) {
+            wheels[i] = wheel(names[i]);
+            for (int j = 0; j < i; j++) {
+                if (wheels[j] == wheels[i]) {
+                    throw new IllegalArgumentException("Rotor used twice: " + wheels[i].name);
+                }
+            }
+        }
+        return wheels;
+    }
+
+    // Menerima "UKW-B" maupun "B" (dan "B-thin")
+    static Enigma.Reflector reflector(String name) {
+        Enigma.Reflector reflector = REFLECTORS.get(key(name));
+        if (reflector == null) {
+            reflector = REFLECTORS.get("UKW-" + key(name));
+        }
+        if (reflector == null) {
+            throw new IllegalArgumentException("Unknown reflector '" + name + "', expected one of " + reflectorNames());
+        }
+        return reflector;
+    }
+
+    private static String key(String name) {
+        return name.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,181 @@
+package enigmaproject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+
+/**
+ * EnigmaCli
+ * - Entry point headless (tanpa display) untuk dipakai di shell pipeline
+ * - Stream stdin ke stdout lewat buffer berukuran tetap, jadi input boleh
+ *   lebih besar dari heap
+ * - Hanya huruf ASCII A-Z/a-z yang dienkripsi (output huruf besar); byte lain,
+ *   termasuk UTF-8 non-ASCII, diteruskan apa adanya
+ * - Dengan --in/--out file dienkripsi lewat memory-mapped I/O (EnigmaFiles)
+ *
+ * Contoh:
+ *   java -cp EnigmaProject.jar enigmaproject.EnigmaCli --ring "A A A" --pos "Q E V" --plug "AT BS DE" < in.txt > out.txt
+ *   java -cp EnigmaProject.jar enigmaproject.EnigmaCli --rotors "VI VIII II" --reflector UKW-C < in.txt > out.txt
+ */
+public class EnigmaCli {
+
+    // Default sama dengan EnigmaGUI: Enigma I, rotor I-II-III, reflector B
+    static final String DEFAULT_ROTORS = "I II III";
+    static final String DEFAULT_REFLECTOR = "UKW-B";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String USAGE =
+            "Usage: java enigmaproject.EnigmaCli [options] < input > output\n"
+            + "  --rotors \"I II III\"   rotor names from left to right: I-VIII, M4 adds Beta/Gamma\n"
+            + "                        on the left, e.g. \"Beta II IV I\" (default I II III)\n"
+            + "  --ring \"A A A\"        ring settings, one letter per rotor (default all A)\n"
+            + "  --pos \"A A A\"         initial rotor positions (default all A)\n"
+            + "  --plug \"AT BS DE\"     plugboard pairs (default none)\n"
+            + "  --reflector NAME      UKW-A, UKW-B, UKW-C, UKW-B-thin, UKW-C-thin or a 26-letter\n"
+            + "                        wiring (default UKW-B)\n"
+            + "  --in FILE --out FILE  encipher a file via memory mapping instead of stdin/stdout\n"
+            + "  --metrics             print throughput and latency metrics to stderr at the end\n"
+            + "  --help                show this message";
+
+    // Hasil parsing argumen
+    private static class Options {
+        EnigmaConfig config;
+        Path input;
+        Path output;
+        boolean metrics;
+    }
+
+    public static void main(String[] args) {
+        Options options;
+        try {
+            options = parseArgs(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+        if (options == null) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        try {
+            Enigma enigma = options.config.newMachine();
+            if (options.input != null) {
+                EnigmaFiles.encipherFile(enigma, options.input, options.output);
+            } else {
+                encipherStream(enigma, System.in, System.out);
+            }
+            if (options.metrics) {
+                System.err.print(EnigmaMetrics.get().dump());
+            }
+        } catch (IOException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Enkripsi seluruh stream dengan satu buffer yang dipakai ulang
+    public static long encipherStream(Enigma enigma, InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            enigma.encipher(buffer, 0, read, buffer, 0);
+            out.write(buffer, 0, read);
+            total += read;
+        }
+        out.flush();
+        return total;
+    }
+
+    // null berarti --help
+    private static Options parseArgs(String[] args) {
+        Options options = new Options();
+        String rotors = DEFAULT_ROTORS;
+        String ring = null;
+        String positions = null;
+        String plugboard = "";
+        String reflector = DEFAULT_REFLECTOR;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (arg.equals("--help") || arg.equals("-h")) {
+                return null;
+            }
+            if (arg.equals("--metrics")) {
+                options.metrics = true;
+                EnigmaMetrics.get().setLatencyEnabled(true);
+                continue;
+            }
+
+            String name = arg;
+            String value;
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 0) {
+                name = arg.substring(0, equals);
+                value = arg.substring(equals + 1);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for " + arg);
+            }
+
+            switch (name) {
+                case "--rotors":
+                    rotors = value;
+                    break;
+                case "--ring":
+                    ring = value;
+                    break;
+                case "--pos":
+                    positions = value;
+                    break;
+                case "--plug":
+                    plugboard = value;
+                    break;
+                case "--reflector":
+                    reflector = value;
+                    break;
+                case "--in":
+                    options.input = Paths.get(value);
+                    break;
+                case "--out":
+                    options.output = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option " + name);
+            }
+        }
+
+        if ((options.input == null) != (options.output == null)) {
+            throw new IllegalArgumentException("--in and --out must be used together");
+        }
+
+        options.config = buildConfig(rotors, reflector, ring, positions, plugboard);
+        return options;
+    }
+
+    // Setting dalam bentuk teks seperti di command line; ring/positions null berarti semua A.
+    // Dipakai juga oleh EnigmaServer untuk query string.
+    static EnigmaConfig buildConfig(String rotors, String reflector, String ring, String positions, String plugboard) {
+        String plugText = plugboard.trim();
+        String[] pairs = plugText.isEmpty() ? new String[]{} : plugText.split("\\s+");
+        String[] rotorNames = rotors.trim().split("\\s+");
+        String allA = String.join(" ", Collections.nCopies(rotorNames.length, "A"));
+        if (ring == null) ring = allA;
+        if (positions == null) positions = allA;
+        reflector = reflector.trim().toUpperCase();
+        if (reflector.length() == 26) {
+            // Wiring reflector custom, rotor tetap dari katalog
+            return new EnigmaConfig(EnigmaCatalog.wheels(rotorNames), EnigmaConfig.compileReflector(reflector, "Reflector"),
+                    ring, positions, pairs);
+        }
+        return EnigmaCatalog.config(rotorNames, reflector, ring, positions, pairs);
+    }
+}
@@ -0,0 +1,227 @@
+package enigmaproject;
+
+/**
+ * EnigmaConfig
+ * - Konfigurasi mesin Enigma yang immutable dan sudah divalidasi
+ * - Wiring, ring setting, reflector dan plugboard dikompilasi sekali menjadi
+ *   tabel yang dipakai bersama (read-only) oleh semua mesin dari config ini
+ * - newMachine() hanya menyalin posisi rotor, jadi murah dibuat per thread/request
+ * - Rotor boleh punya lebih dari satu notch (rotor VI-VIII)
+ * - Wheel tetap (Beta/Gamma M4) hanya boleh di paling kiri dan tidak ikut stepping
+ */
+public final class EnigmaConfig {
+
+    private final String ringSettings;
+    private final String initialPositions;
+    private final String[] plugboardPairs;
+
+    // Komponen terkompilasi; rotor di sini hanya template posisi awal, tidak pernah melangkah
+    final Enigma.Rotor[] rotors;
+    final int fixedRotors;  // Jumlah wheel tetap paling kiri (1 untuk M4)
+    final Enigma.Stepping stepping;  // Tabel stepping bersama per notch; null jika > 4 rotor melangkah
+    final Enigma.Reflector reflector;
+    final Enigma.Plugboard plugboard;
+
+    public EnigmaConfig(String[] rotorWires, char[] notches, String reflectorWiring,
+                        String ringSettings, String initialPositions, String[] plugboardPairs) {
+        this(rotorWires, singleNotches(notches), reflectorWiring, ringSettings, initialPositions, plugboardPairs);
+    }
+
+    // notches: huruf notch per rotor, mis. "Q" atau "ZM"; string kosong berarti tanpa notch
+    public EnigmaConfig(String[] rotorWires, String[] notches, String reflectorWiring,
+                        String ringSettings, String initialPositions, String[] plugboardPairs) {
+        this(compileWheels(rotorWires, notches), compileReflector(reflectorWiring, "Reflector"),
+                ringSettings, initialPositions, plugboardPairs);
+    }
+
+    // Dari wheel dan reflector yang sudah dikompilasi (mis. EnigmaCatalog); tabelnya dipakai bersama
+    EnigmaConfig(Enigma.Wheel[] wheels, Enigma.Reflector reflector,
+                 String ringSettings, String initialPositions, String[] plugboardPairs) {
+        if (wheels.length == 0) {
+            throw new IllegalArgumentException("At least one rotor is required");
+        }
+
+        int numberOfRotors = wheels.length;
+        int fixed = 0;
+        while (fixed < numberOfRotors && wheels[fixed].fixed) {
+            fixed++;
+        }
+        if (fixed == numberOfRotors) {
+            throw new IllegalArgumentException("At least one stepping rotor is required");
+        }
+        for (int i = fixed; i < numberOfRotors; i++) {
+            if (wheels[i].fixed) {
+                throw new IllegalArgumentException("Fixed wheel " + wheels[i].name + " must be the leftmost rotor");
+            }
+        }
+        fixedRotors = fixed;
+        stepping = Enigma.Stepping.forWheels(wheels, fixed);
+
+        int[] rings = parseLetters(ringSettings, numberOfRotors, "Ring settings");
+        int[] positions = parseLetters(initialPositions, numberOfRotors, "Initial positions");
+
+        rotors = new Enigma.Rotor[numberOfRotors];
+        for (int i = 0; i < numberOfRotors; i++) {
+            rotors[i] = new Enigma.Rotor(wheels[i], rings[i], positions[i]);
+        }
+        this.reflector = reflector;
+
+        plugboard = compilePlugboard(plugboardPairs);
+
+        this.ringSettings = ringSettings.trim();
+        this.initialPositions = initialPositions.trim();
+        this.plugboardPairs = plugboardPairs.clone();
+    }
+
+    // Validasi lalu kompilasi satu wheel; label dipakai di pesan error
+    static Enigma.Wheel compileWheel(String name, String wiring, String notchLetters, boolean fixed, String label) {
+        requirePermutation(wiring, label + " wiring");
+        for (int i = 0; i < notchLetters.length(); i++) {
+            if (letterIndex(notchLetters.charAt(i)) < 0) {
+                throw new IllegalArgumentException(label + " notch must be letters A-Z");
+            }
+        }
+        return new Enigma.Wheel(name, wiring, notchLetters, fixed);
+    }
+
+    static Enigma.Plugboard compilePlugboard(String[] plugboardPairs) {
+        boolean[] plugged = new boolean[26];
+        for (String pair : plugboardPairs) {
+            int first = pair.length() == 2 ? letterIndex(pair.charAt(0)) : -1;
+            int second = pair.length() == 2 ? letterIndex(pair.charAt(1)) : -1;
+            if (first < 0 || second < 0 || first == second) {
+                throw new IllegalArgumentException("Plugboard pairs must be 2 different letters each (e.g., AT BS DE)");
+            }
+            if (plugged[first] || plugged[second]) {
+                throw new IllegalArgumentException("Plugboard letter used twice: " + pair.toUpperCase());
+            }
+            plugged[first] = true;
+            plugged[second] = true;
+        }
+        return new Enigma.Plugboard(plugboardPairs);
+    }
+
+    static Enigma.Reflector compileReflector(String wiring, String label) {
+        requirePermutation(wiring, label + " wiring");
+        for (int i = 0; i < 26; i++) {
+            int mate = letterIndex(wiring.charAt(i));
+            if (letterIndex(wiring.charAt(mate)) != i) {
+                throw new IllegalArgumentException(label + " wiring must map letters in pairs");
+            }
+        }
+        return new Enigma.Reflector(wiring);
+    }
+
+    private static Enigma.Wheel[] compileWheels(String[] rotorWires, String[] notches) {
+        if (notches.length != rotorWires.length) {
+            throw new IllegalArgumentException("Each rotor needs its notch letters");
+        }
+        Enigma.Wheel[] wheels = new Enigma.Wheel[rotorWires.length];
+        for (int i = 0; i < wheels.length; i++) {
+            wheels[i] = compileWheel(null, rotorWires[i], notches[i], false, "Rotor " + (i + 1));
+        }
+        return wheels;
+    }
+
+    private static String[] singleNotches(char[] notches) {
+        String[] letters = new String[notches.length];
+        for (int i = 0; i < notches.length; i++) {
+            if (letterIndex(notches[i]) < 0) {
+                throw new IllegalArgumentException("Rotor " + (i + 1) + " notch must be a letter A-Z");
+            }
+            letters[i] = String.valueOf(notches[i]);
+        }
+        return letters;
+    }
+
+    // Mesin baru pada posisi awal config ini
+    public Enigma newMachine() {
+        return new Enigma(this);
+    }
+
+    public int getNumberOfRotors() {
+        return rotors.length;
+    }
+
+    // Jumlah wheel paling kiri yang tidak pernah melangkah: 1 untuk M4, 0 untuk Enigma I/M3
+    public int getFixedRotors() {
+        return fixedRotors;
+    }
+
+    // Nama katalog per rotor dari kiri ke kanan; null untuk rotor dengan wiring custom
+    public String[] getRotorNames() {
+        String[] names = new String[rotors.length];
+        for (int i = 0; i < rotors.length; i++) {
+            names[i] = rotors[i].getWheel().name;
+        }
+        return names;
+    }
+
+    public String[] getRotorWires() {
+        String[] wires = new String[rotors.length];
+        for (int i = 0; i < rotors.length; i++) {
+            wires[i] = rotors[i].getWheel().wiring;
+        }
+        return wires;
+    }
+
+    // Huruf notch per rotor, mis. "Q" untuk rotor I atau "ZM" untuk rotor VI-VIII
+    public String[] getNotches() {
+        String[] notches = new String[rotors.length];
+        for (int i = 0; i < rotors.length; i++) {
+            notches[i] = rotors[i].getWheel().notchLetters;
+        }
+        return notches;
+    }
+
+    public String getReflectorWiring() {
+        return reflector.getWiring();
+    }
+
+    public String getRingSettings() {
+        return ringSettings;
+    }
+
+    public String getInitialPositions() {
+        return initialPositions;
+    }
+
+    public String[] getPlugboardPairs() {
+        return plugboardPairs.clone();
+    }
+
+    // Parse "A B C" menjadi index 0-25, satu huruf per rotor
+    static int[] parseLetters(String text, int count, String name) {
+        String[] parts = text.trim().split("\\s+");
+        if (parts.length != count) {
+            throw new IllegalArgumentException(name + " must have one letter per rotor (" + count + ")");
+        }
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = parts[i].length() == 1 ? letterIndex(parts[i].charAt(0)) : -1;
+            if (values[i] < 0) {
+                throw new IllegalArgumentException(name + " must be letters A-Z, got '" + parts[i] + "'");
+            }
+        }
+        return values;
+    }
+
+    private static void requirePermutation(String wiring, String name) {
+        if (wiring.length() != 26) {
+            throw new IllegalArgumentException(name + " must have 26 letters");
+        }
+        boolean[] seen = new boolean[26];
+        for (int i = 0; i < 26; i++) {
+            int index = letterIndex(wiring.charAt(i));
+            if (index < 0 || seen[index]) {
+                throw new IllegalArgumentException(name + " must contain each letter A-Z exactly once");
+            }
+            seen[index] = true;
+        }
+    }
+
+    private static int letterIndex(char c) {
+        int index = Character.toUpperCase(c) - 'A';
+        return index >= 0 && index < 26 ? index : -1;
+    }
+}
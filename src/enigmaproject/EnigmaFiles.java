@@ -0,0 +1,63 @@
+package enigmaproject;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * EnigmaFiles
+ * - Enkripsi file ke file dengan memory-mapped I/O (FileChannel.map), per
+ *   region 64 MB, jadi ukuran file tidak dibatasi heap
+ * - Aturan karakter sama dengan Enigma.encipher(byte[]...): hanya A-Z/a-z yang
+ *   dienkripsi, byte lain diteruskan apa adanya
+ * - Berbeda dengan encipher(String): huruf non-ASCII (mis. 'Ü', 'ß') di sana ikut
+ *   dienkripsi dan memajukan rotor, di sini byte UTF-8-nya diteruskan tanpa melangkah.
+ *   Hasil file sama dengan encipher(String) hanya untuk teks yang hurufnya ASCII;
+ *   untuk aturan String pakai EnigmaReader/EnigmaWriter dengan charset yang sesuai
+ */
+public final class EnigmaFiles {
+
+    private static final long REGION_SIZE = 64L * 1024 * 1024;
+
+    private EnigmaFiles() {
+    }
+
+    // Enkripsi input ke output (dibuat/ditimpa); mengembalikan jumlah byte
+    public static long encipherFile(Enigma enigma, Path input, Path output) throws IOException {
+        if (Files.exists(output) && Files.isSameFile(input, output)) {
+            return encipherFileInPlace(enigma, input);
+        }
+
+        try (FileChannel in = FileChannel.open(input, READ);
+             FileChannel out = FileChannel.open(output, READ, WRITE, CREATE, TRUNCATE_EXISTING)) {
+            long size = in.size();
+            for (long position = 0; position < size; position += REGION_SIZE) {
+                long length = Math.min(REGION_SIZE, size - position);
+                MappedByteBuffer src = in.map(FileChannel.MapMode.READ_ONLY, position, length);
+                MappedByteBuffer dst = out.map(FileChannel.MapMode.READ_WRITE, position, length);
+                enigma.encipher(src, dst);
+            }
+            return size;
+        }
+    }
+
+    // Enkripsi file langsung di tempat, region demi region
+    public static long encipherFileInPlace(Enigma enigma, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, READ, WRITE)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += REGION_SIZE) {
+                long length = Math.min(REGION_SIZE, size - position);
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+                enigma.encipher(region, region);
+            }
+            return size;
+        }
+    }
+}
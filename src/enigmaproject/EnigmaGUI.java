@@ -5,9 +5,13 @@ import javax.swing.border.*;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
 import javax.swing.plaf.basic.BasicScrollBarUI;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * EnigmaGUI (Modernized)
@@ -15,7 +19,8 @@ import java.io.*;
  *   - Modern rounded buttons with hover/press effects
  *   - Dark / Light theme toggle
  *   - Improved shortcuts using InputMap/ActionMap
- *   - Word-wrapping for output area
+ *   - Bounded, virtualised output view (OutputBuffer): only visible lines are laid out,
+ *     older output spills to a temp file and can be exported in full
  *   - Modern thin scrollbar
  *   - Consistent single initialization of components
  *
@@ -24,19 +29,44 @@ import java.io.*;
 public class EnigmaGUI extends JFrame {
 
     private JTextField inputField;
-    private JTextArea outputArea;
+    // Kapasitas output di memori (karakter), bisa diubah dengan -Denigma.output.capacity
+    private static final int OUTPUT_CAPACITY = Integer.getInteger("enigma.output.capacity", 1 << 20);
+    private static final int OUTPUT_WRAP_WIDTH = 80;
+    private OutputBuffer outputBuffer;
+    private JList<String> outputList;
     private JLabel rotorPositionLabel;
     private JLabel statusLabel;
     private Enigma enigma;
-    private String lastProcessedInput = "";
+    // Panjang prefix input yang sudah dienkripsi, dan panjang prefix dokumen yang masih
+    // identik dengan teks tersebut. Diperbarui dari offset DocumentEvent, O(1) per ketikan.
+    private int processedLength;
+    private int matchedLength;
+
+    // Per karakter input yang sudah diproses: apakah rotor melangkah dan apakah ada karakter
+    // output. Dengan ini backspace menggulung balik mesin dan output dalam O(K), bukan O(n).
+    private static final byte STEPPED = 1;
+    private static final byte EMITTED = 2;
+    private byte[] inputFlags = new byte[1024];
+
+    // Rentang output (posisi absolut OutputBuffer) hasil ketikan sesi ini;
+    // hanya rentang ini yang boleh digulung balik
+    private long outputStart;
+    private long outputEnd;
+
+    // Encrypt-all dan paste besar dikerjakan di background supaya EDT tidak membeku
+    private static final int BACKGROUND_THRESHOLD = 64 * 1024;
+    private static final int WORKER_CHUNK_SIZE = 64 * 1024;
+    private EncryptWorker encryptWorker; // null jika tidak ada yang berjalan
+    private JPanel progressPanel;
+    private JProgressBar progressBar;
 
     // Configuration variables
-    private String[] currentRotorWires;
-    private char[] currentNotches;
+    private String[] currentRotorNames;  // Nama wheel di EnigmaCatalog, kiri ke kanan
     private String currentReflector;
     private String currentRingSettings;
     private String currentInitialPositions;
     private String[] currentPlugboardPairs;
+    private EnigmaConfig currentConfig; // Dikompilasi sekali per perubahan konfigurasi
 
     // Theme colors (mutable by theme toggle)
     private Color backgroundPanel;
@@ -54,16 +84,13 @@ public class EnigmaGUI extends JFrame {
     }
 
     private void initializeDefaults() {
-        currentRotorWires = new String[]{
-                "EKMFLGDQVZNTOWYHXUSPAIBRCJ",
-                "AJDKSIRUXBLHWTMCQGZNPYFVOE",
-                "BDFHJLCPRTXVZNYEIWGAKMUSQO"
-        };
-        currentNotches = new char[]{'Q', 'E', 'V'};
-        currentReflector = "YRUHQSLDPXNGOKMIEBFZCWVJAT";
+        currentRotorNames = new String[]{"I", "II", "III"};
+        currentReflector = "UKW-B";
         currentRingSettings = "A A A";
         currentInitialPositions = "A A A";
         currentPlugboardPairs = new String[]{};
+        currentConfig = EnigmaCatalog.config(currentRotorNames, currentReflector,
+                currentRingSettings, currentInitialPositions, currentPlugboardPairs);
     }
 
     private void initThemeColors() {
@@ -99,14 +126,18 @@ public class EnigmaGUI extends JFrame {
                 BorderFactory.createEmptyBorder(8, 8, 8, 8)
         ));
 
-        outputArea = new JTextArea(14, 80);
-        outputArea.setEditable(false);
-        outputArea.setLineWrap(true);
-        outputArea.setWrapStyleWord(true);
-        outputArea.setBackground(Color.BLACK);
-        outputArea.setForeground(accentColor);
-        outputArea.setFont(new Font("Monospaced", Font.PLAIN, 14));
-        outputArea.setBorder(BorderFactory.createTitledBorder(
+        // Ukuran sel tetap: JList tidak mengukur semua baris, hanya yang terlihat yang digambar
+        outputBuffer = new OutputBuffer(OUTPUT_CAPACITY, OUTPUT_WRAP_WIDTH);
+        outputList = new JList<>(outputBuffer);
+        Font outputFont = new Font("Monospaced", Font.PLAIN, 14);
+        FontMetrics outputMetrics = outputList.getFontMetrics(outputFont);
+        outputList.setFont(outputFont);
+        outputList.setFixedCellHeight(outputMetrics.getHeight());
+        outputList.setFixedCellWidth(outputMetrics.charWidth('M') * OUTPUT_WRAP_WIDTH + 8);
+        outputList.setVisibleRowCount(14);
+        outputList.setBackground(Color.BLACK);
+        outputList.setForeground(accentColor);
+        outputList.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(accentColor, 1),
                 "OUTPUT",
                 TitledBorder.LEFT,
@@ -115,7 +146,7 @@ public class EnigmaGUI extends JFrame {
                 accentColor
         ));
 
-        JScrollPane outputScrollPane = new JScrollPane(outputArea);
+        JScrollPane outputScrollPane = new JScrollPane(outputList);
         customizeScrollBar(outputScrollPane.getVerticalScrollBar());
         customizeScrollBar(outputScrollPane.getHorizontalScrollBar());
         outputScrollPane.setBorder(BorderFactory.createEmptyBorder());
@@ -207,7 +238,7 @@ public class EnigmaGUI extends JFrame {
 
         JButton clearButton = createModernButton("Clear Output", "#F59E0B");
         clearButton.addActionListener(e -> {
-            outputArea.setText("");
+            outputBuffer.clear();
             statusLabel.setText("Output cleared");
         });
 
@@ -220,6 +251,9 @@ public class EnigmaGUI extends JFrame {
         JButton loadButton = createModernButton("Load Message", "#374151");
         loadButton.addActionListener(e -> loadMessage());
 
+        JButton exportButton = createModernButton("Export Output", "#374151");
+        exportButton.addActionListener(e -> exportOutput());
+
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 12, 8));
         buttonPanel.setOpaque(false);
         buttonPanel.add(resetButton);
@@ -228,6 +262,7 @@ public class EnigmaGUI extends JFrame {
         buttonPanel.add(encryptAllButton);
         buttonPanel.add(saveButton);
         buttonPanel.add(loadButton);
+        buttonPanel.add(exportButton);
 
         mainPanel.add(buttonPanel, BorderLayout.CENTER);
 
@@ -235,7 +270,24 @@ public class EnigmaGUI extends JFrame {
         statusLabel.setFont(new Font("Segoe UI", Font.ITALIC, 12));
         statusLabel.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
         statusLabel.setForeground(textColor);
-        mainPanel.add(statusLabel, BorderLayout.SOUTH);
+
+        // Progress encrypt-all di background, hanya terlihat saat worker berjalan
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setPreferredSize(new Dimension(260, 22));
+        JButton cancelButton = createModernButton("Cancel", "#EF4444");
+        cancelButton.addActionListener(e -> cancelBackgroundEncryption());
+        progressPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 8, 0));
+        progressPanel.setOpaque(false);
+        progressPanel.add(progressBar);
+        progressPanel.add(cancelButton);
+        progressPanel.setVisible(false);
+
+        JPanel statusPanel = new JPanel(new BorderLayout());
+        statusPanel.setOpaque(false);
+        statusPanel.add(progressPanel, BorderLayout.NORTH);
+        statusPanel.add(statusLabel, BorderLayout.CENTER);
+        mainPanel.add(statusPanel, BorderLayout.SOUTH);
 
         return mainPanel;
     }
@@ -248,12 +300,12 @@ public class EnigmaGUI extends JFrame {
         inputField.getDocument().addDocumentListener(new DocumentListener() {
             @Override
             public void insertUpdate(DocumentEvent e) {
-                SwingUtilities.invokeLater(() -> processNewInput());
+                processNewInput(e.getOffset(), e.getLength());
             }
 
             @Override
             public void removeUpdate(DocumentEvent e) {
-                SwingUtilities.invokeLater(() -> handleTextRemoval());
+                handleTextRemoval(e.getOffset());
             }
 
             @Override
@@ -281,52 +333,112 @@ public class EnigmaGUI extends JFrame {
         am.put("encryptAll", new AbstractAction() { public void actionPerformed(ActionEvent e) { encryptAllInput(); } });
     }
 
-    private void processNewInput() {
-        String currentInput = inputField.getText();
+    // Hanya karakter yang baru disisipkan yang dibaca dari dokumen
+    private void processNewInput(int offset, int length) {
+        if (offset < matchedLength) {
+            matchedLength = offset;
+        }
+        if (matchedLength < processedLength || offset != processedLength) {
+            statusLabel.setText("Input changed - Use Ctrl+A to encrypt all, or Reset first");
+            return;
+        }
 
-        if (currentInput.length() > lastProcessedInput.length()
-                && currentInput.startsWith(lastProcessedInput)) {
+        String newText;
+        try {
+            newText = inputField.getDocument().getText(offset, length);
+        } catch (BadLocationException e) {
+            return;
+        }
+        recordInput(offset, newText);
+        processedLength = offset + length;
+        matchedLength = processedLength;
 
-            String newText = currentInput.substring(lastProcessedInput.length());
+        if (length >= BACKGROUND_THRESHOLD) {
+            // Paste besar: lanjutkan di worker, output ditambahkan di akhir outputBuffer
+            startBackgroundEncryption(newText, offset);
+            return;
+        }
 
-            StringBuilder sb = new StringBuilder();
-            for (char ch : newText.toCharArray()) {
-                if (Character.isLetter(ch)) {
-                    char upperCh = Character.toUpperCase(ch);
-                    String encrypted = enigma.encipher(String.valueOf(upperCh));
-                    sb.append(encrypted);
-                } else if (ch == ' ') {
-                    sb.append(' ');
-                } else if (Character.isDigit(ch)) {
-                    sb.append(ch);
-                }
-            }
+        appendOutput(encipherForDisplay(newText));
+        updateRotorDisplay();
+        scrollOutputToEnd();
+        statusLabel.setText("Processed " + newText.length() + " characters");
+    }
 
-            outputArea.append(sb.toString());
-            updateRotorDisplay();
-            lastProcessedInput = currentInput;
-            outputArea.setCaretPosition(outputArea.getDocument().getLength());
-            statusLabel.setText("Processed " + newText.length() + " characters");
-        } else if (!currentInput.startsWith(lastProcessedInput)) {
+    private void handleTextRemoval(int offset) {
+        if (offset < matchedLength) {
+            matchedLength = offset;
+        }
+        int length = inputField.getDocument().getLength();
+
+        // Sisa input adalah prefix teks yang sudah diproses: gulung balik ke titik itu
+        if (length <= matchedLength) {
+            if (length < processedLength) {
+                rollBack(length);
+            }
+            processedLength = length;
+            matchedLength = length;
+        } else if (matchedLength < processedLength) {
             statusLabel.setText("Input changed - Use Ctrl+A to encrypt all, or Reset first");
         }
     }
 
-    private void handleTextRemoval() {
-        String currentInput = inputField.getText();
+    // Mesin dan output kembali ke keadaan setelah `length` karakter input pertama
+    private void rollBack(int length) {
+        int steps = 0;
+        int emitted = 0;
+        for (int i = length; i < processedLength; i++) {
+            if ((inputFlags[i] & STEPPED) != 0) steps++;
+            if ((inputFlags[i] & EMITTED) != 0) emitted++;
+        }
+        enigma.rewind(steps);
 
-        if (currentInput.length() < lastProcessedInput.length()) {
-            statusLabel.setText("Text removed - Note: Rotor positions cannot be reversed (Authentic Mode)");
+        // Output yang sudah tercampur teks lain (load, reset, clear) tidak disentuh
+        if (outputBuffer.end() == outputEnd) {
+            long from = Math.max(outputStart, outputEnd - emitted);
+            outputBuffer.removeLast(outputEnd - from);
+            outputEnd = outputBuffer.end();
         }
+        updateRotorDisplay();
+        statusLabel.setText("Removed " + (processedLength - length) + " characters - rotors stepped back " + steps);
+    }
 
-        if (currentInput.length() <= lastProcessedInput.length()) {
-            if (lastProcessedInput.startsWith(currentInput)) {
-                lastProcessedInput = currentInput;
-            }
+    private void recordInput(int offset, String text) {
+        int end = offset + text.length();
+        if (end > inputFlags.length) {
+            inputFlags = Arrays.copyOf(inputFlags, Math.max(end, inputFlags.length * 2));
+        }
+        for (int i = 0; i < text.length(); i++) {
+            char ch = text.charAt(i);
+            byte flags = 0;
+            if (Character.isLetter(ch)) flags |= STEPPED;
+            if (Character.isLetter(ch) || ch == ' ' || Character.isDigit(ch)) flags |= EMITTED;
+            inputFlags[offset + i] = flags;
+        }
+    }
+
+    private void appendOutput(String text) {
+        long end = outputBuffer.end();
+        if (end != outputEnd) {
+            // Output diubah di luar ketikan; rentang baru dimulai dari sini
+            outputStart = end;
+        }
+        outputBuffer.append(text);
+        outputEnd = outputBuffer.end();
+    }
+
+    private void scrollOutputToEnd() {
+        int rows = outputBuffer.getSize();
+        if (rows > 0) {
+            outputList.ensureIndexIsVisible(rows - 1);
         }
     }
 
     private void encryptAllInput() {
+        if (encryptWorker != null) {
+            statusLabel.setText("Encryption already running - Esc or Cancel to stop");
+            return;
+        }
         String input = inputField.getText();
         if (input.trim().isEmpty()) {
             statusLabel.setText("No text to encrypt");
@@ -344,28 +456,135 @@ public class EnigmaGUI extends JFrame {
         }
 
         if (choice == JOptionPane.YES_OPTION) {
-            resetEnigma();
-        }
-
-        StringBuilder out = new StringBuilder();
-        for (char ch : input.toCharArray()) {
-            if (Character.isLetter(ch)) {
-                char upperCh = Character.toUpperCase(ch);
-                String encrypted = enigma.encipher(String.valueOf(upperCh));
-                out.append(encrypted);
-            } else if (ch == ' ') {
-                out.append(' ');
-            } else if (Character.isDigit(ch)) {
-                out.append(ch);
-            }
+            // Input tetap di field supaya ketikan berikutnya dan backspace tetap sinkron
+            resetMachine();
         }
 
-        outputArea.setText(out.toString());
+        outputBuffer.clear();
+        recordInput(0, input);
+        processedLength = input.length();
+        matchedLength = input.length();
+        startBackgroundEncryption(input, 0);
+    }
+
+    // Input dikunci selama worker memakai mesin; reset/config membatalkan worker
+    private void startBackgroundEncryption(String text, int inputOffset) {
+        inputField.setEditable(false);
+        progressBar.setValue(0);
+        progressBar.setString("0%");
+        progressPanel.setVisible(true);
+        progressPanel.revalidate();
+        statusLabel.setText("Encrypting " + text.length() + " characters in background - Esc or Cancel to stop");
+
+        encryptWorker = new EncryptWorker(enigma, text, inputOffset);
+        encryptWorker.execute();
+    }
 
-        lastProcessedInput = input;
+    // Berhenti setelah chunk yang sedang berjalan. Tidak memakai cancel(): done() harus
+    // datang setelah worker selesai memakai mesin dan setelah semua chunk dipublish.
+    private void cancelBackgroundEncryption() {
+        if (encryptWorker != null) {
+            encryptWorker.stopRequested = true;
+        }
+    }
+
+    // Dipanggil dari done(); worker yang sudah digantikan (reset) diabaikan
+    private void finishBackgroundEncryption(EncryptWorker worker) {
+        if (encryptWorker != worker) {
+            return;
+        }
+        encryptWorker = null;
+        progressPanel.setVisible(false);
+        inputField.setEditable(true);
         updateRotorDisplay();
-        statusLabel.setText("Encrypted " + input.length() + " characters");
-        outputArea.setCaretPosition(outputArea.getDocument().getLength());
+        scrollOutputToEnd();
+
+        String rate = formatThroughput(worker.consumed, System.nanoTime() - worker.started);
+        if (worker.consumed < worker.text.length()) {
+            // Hanya sebagian yang diproses; sisa input menunggu Ctrl+A, Reset, atau dihapus
+            processedLength = worker.inputOffset + worker.consumed;
+            matchedLength = Math.min(matchedLength, processedLength);
+            statusLabel.setText("Encryption cancelled after " + worker.consumed + " of "
+                    + worker.text.length() + " characters - Use Ctrl+A to encrypt all, or Reset first");
+        } else {
+            statusLabel.setText("Encrypted " + worker.text.length() + " characters (" + rate + ")");
+        }
+    }
+
+    private static String formatThroughput(long chars, long nanos) {
+        double perSecond = chars * 1e9 / Math.max(1, nanos);
+        if (perSecond >= 1e6) {
+            return String.format("%.1f M chars/s", perSecond / 1e6);
+        }
+        return String.format("%.0f K chars/s", perSecond / 1e3);
+    }
+
+    // Enkripsi di worker thread per chunk; setiap chunk dipublish ke outputBuffer di EDT
+    private class EncryptWorker extends SwingWorker<Void, String> {
+        private final Enigma machine;
+        private final String text;
+        private final int inputOffset;   // Posisi teks ini di input field
+        private final long started = System.nanoTime();
+        private volatile int consumed;   // Karakter yang sudah melewati mesin
+        private volatile boolean stopRequested;
+
+        EncryptWorker(Enigma machine, String text, int inputOffset) {
+            this.machine = machine;
+            this.text = text;
+            this.inputOffset = inputOffset;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            char[] chunk = new char[WORKER_CHUNK_SIZE];
+            for (int start = 0; start < text.length() && !stopRequested; start += chunk.length) {
+                int n = Math.min(chunk.length, text.length() - start);
+                text.getChars(start, start + n, chunk, 0);
+                publish(encipherForDisplay(machine, chunk, n));
+                consumed = start + n;
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<String> chunks) {
+            if (encryptWorker != this) {
+                return;
+            }
+            for (String chunk : chunks) {
+                appendOutput(chunk);
+            }
+            int done = consumed;
+            int percent = (int) ((long) done * 100 / text.length());
+            progressBar.setValue(percent);
+            progressBar.setString(percent + "% - " + formatThroughput(done, System.nanoTime() - started));
+        }
+
+        @Override
+        protected void done() {
+            finishBackgroundEncryption(this);
+        }
+    }
+
+    // Enkripsi satu blok input dalam satu panggilan bulk; hanya huruf, spasi,
+    // dan digit yang ditampilkan di output
+    private String encipherForDisplay(String text) {
+        char[] buf = text.toCharArray();
+        return encipherForDisplay(enigma, buf, buf.length);
+    }
+
+    // buf[0..length) dienkripsi di tempat; aman dipanggil dari worker thread
+    private static String encipherForDisplay(Enigma machine, char[] buf, int length) {
+        machine.encipher(buf, 0, length, buf, 0);
+
+        int kept = 0;
+        for (int i = 0; i < length; i++) {
+            char ch = buf[i];
+            if (Character.isLetter(ch) || ch == ' ' || Character.isDigit(ch)) {
+                buf[kept++] = ch;
+            }
+        }
+        return new String(buf, 0, kept);
     }
 
     private JPanel createBottomPanelLegacy() {
@@ -374,23 +593,29 @@ public class EnigmaGUI extends JFrame {
     }
 
     private void resetEnigma() {
-        enigma = new Enigma(
-                currentRotorWires.clone(),
-                currentNotches.clone(),
-                currentReflector,
-                currentRingSettings,
-                currentInitialPositions,
-                currentPlugboardPairs.clone()
-        );
-
-        lastProcessedInput = "";
+        resetMachine();
+
+        processedLength = 0;
+        matchedLength = 0;
         inputField.setText("");
-        outputArea.append("\n=== MESIN DI-RESET KE POSISI AWAL ===\n");
+        outputBuffer.append("\n=== MESIN DI-RESET KE POSISI AWAL ===\n");
+        scrollOutputToEnd();
         updateRotorDisplay();
         statusLabel.setText("Enigma machine reset to initial position");
         inputField.requestFocus();
     }
 
+    // Mesin baru pada posisi awal; worker yang masih berjalan dihentikan dan hasilnya dibuang
+    private void resetMachine() {
+        if (encryptWorker != null) {
+            encryptWorker.stopRequested = true;
+            encryptWorker = null;
+            progressPanel.setVisible(false);
+            inputField.setEditable(true);
+        }
+        enigma = currentConfig.newMachine();
+    }
+
     private void updateRotorDisplay() {
         try {
             String positions = enigma.getCurrentRotorPositions();
@@ -402,11 +627,11 @@ public class EnigmaGUI extends JFrame {
 
     private void openConfigurationDialog() {
         JDialog configDialog = new JDialog(this, "Enigma Configuration", true);
-        configDialog.setSize(480, 380);
+        configDialog.setSize(480, 420);
         configDialog.setLocationRelativeTo(this);
         configDialog.setLayout(new BorderLayout());
 
-        JPanel contentPanel = new JPanel(new GridLayout(5, 2, 10, 10));
+        JPanel contentPanel = new JPanel(new GridLayout(6, 2, 10, 10));
         contentPanel.setBorder(BorderFactory.createEmptyBorder(20, 20, 10, 20));
         contentPanel.setBackground(cardColor);
 
@@ -422,12 +647,17 @@ public class EnigmaGUI extends JFrame {
         JTextField plugField = new JTextField(String.join(" ", currentPlugboardPairs));
         contentPanel.add(plugField);
 
-        contentPanel.add(new JLabel("Rotor Model:"));
-        JComboBox<String> rotorCombo = new JComboBox<>(new String[]{"Enigma I (Standard)", "Enigma M3", "Custom"});
-        contentPanel.add(rotorCombo);
+        contentPanel.add(new JLabel("Rotor Order (I-VIII, M4: Beta/Gamma):"));
+        JTextField rotorField = new JTextField(String.join(" ", currentRotorNames));
+        contentPanel.add(rotorField);
+
+        contentPanel.add(new JLabel("Reflector:"));
+        JComboBox<String> reflectorCombo = new JComboBox<>(EnigmaCatalog.reflectorNames().toArray(new String[0]));
+        reflectorCombo.setSelectedItem(currentReflector);
+        contentPanel.add(reflectorCombo);
 
         contentPanel.add(new JLabel("Help:"));
-        JLabel helpLabel = new JLabel("<html><font size='2'>Ring: A A A, Pos: A A A<br/>Plugboard: AT BS DE (pairs)</font></html>");
+        JLabel helpLabel = new JLabel("<html><font size='2'>Rotors: I II III, Ring: A A A, Pos: A A A<br/>Plugboard: AT BS DE (pairs)</font></html>");
         contentPanel.add(helpLabel);
 
         configDialog.add(contentPanel, BorderLayout.CENTER);
@@ -443,31 +673,33 @@ public class EnigmaGUI extends JFrame {
 
         okButton.addActionListener(e -> {
             try {
+                String[] rotorNames = rotorField.getText().trim().split("\\s+");
+                if (rotorNames.length != 3 && rotorNames.length != 4) {
+                    throw new IllegalArgumentException("Rotor order must name 3 rotors (e.g. 'I II III') "
+                            + "or 4 for M4 (e.g. 'Beta II IV I')");
+                }
+                String reflectorName = (String) reflectorCombo.getSelectedItem();
+
                 String ringText = ringField.getText().trim();
-                if (!isValidTripleFormat(ringText)) {
-                    throw new IllegalArgumentException("Ring settings must be in format 'A A A'");
+                if (!isValidLetterFormat(ringText, rotorNames.length)) {
+                    throw new IllegalArgumentException("Ring settings must have one letter per rotor, e.g. 'A A A'");
                 }
 
                 String posText = posField.getText().trim();
-                if (!isValidTripleFormat(posText)) {
-                    throw new IllegalArgumentException("Initial positions must be in format 'A A A'");
+                if (!isValidLetterFormat(posText, rotorNames.length)) {
+                    throw new IllegalArgumentException("Initial positions must have one letter per rotor, e.g. 'A A A'");
                 }
 
+                String plugText = plugField.getText().trim();
+                String[] pairs = plugText.isEmpty() ? new String[]{} : plugText.split("\\s+");
+
+                // EnigmaCatalog memvalidasi nama rotor, EnigmaConfig pasangan plugboard (huruf ganda, dsb.)
+                currentConfig = EnigmaCatalog.config(rotorNames, reflectorName, ringText, posText, pairs);
+                currentRotorNames = currentConfig.getRotorNames();
+                currentReflector = reflectorName;
                 currentRingSettings = ringText;
                 currentInitialPositions = posText;
-
-                String plugText = plugField.getText().trim();
-                if (plugText.isEmpty()) {
-                    currentPlugboardPairs = new String[]{};
-                } else {
-                    String[] pairs = plugText.split("\\s+");
-                    for (String pair : pairs) {
-                        if (pair.length() != 2 || !pair.matches("[A-Za-z]{2}")) {
-                            throw new IllegalArgumentException("Plugboard pairs must be 2 letters each (e.g., AT BS DE)");
-                        }
-                    }
-                    currentPlugboardPairs = pairs;
-                }
+                currentPlugboardPairs = pairs;
 
                 resetEnigma();
                 statusLabel.setText("Configuration updated successfully");
@@ -489,9 +721,9 @@ public class EnigmaGUI extends JFrame {
         configDialog.setVisible(true);
     }
 
-    private boolean isValidTripleFormat(String text) {
+    private boolean isValidLetterFormat(String text, int rotors) {
         String[] parts = text.trim().split("\\s+");
-        if (parts.length != 3) return false;
+        if (parts.length != rotors) return false;
         for (String part : parts) {
             if (part.length() != 1 || !part.matches("[A-Za-z]")) return false;
         }
@@ -499,7 +731,8 @@ public class EnigmaGUI extends JFrame {
     }
 
     private void saveMessage() {
-        if (outputArea.getText().trim().isEmpty()) {
+        String output = outputBuffer.toString();
+        if (output.trim().isEmpty()) {
             JOptionPane.showMessageDialog(this, "No message to save!", "Nothing to Save", JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -513,12 +746,20 @@ public class EnigmaGUI extends JFrame {
                 writer.println("=== ENIGMA ENCRYPTED MESSAGE ===");
                 writer.println("Date: " + java.time.LocalDateTime.now().toString());
                 writer.println("Input: " + inputField.getText());
-                writer.println("Output: " + outputArea.getText().replace("\n", " ").trim());
+                writer.println("Output: " + output.replace("\n", " ").trim());
+                writer.println("Rotor Order: " + String.join(" ", currentRotorNames));
+                writer.println("Reflector: " + currentReflector);
                 writer.println("Ring Settings: " + currentRingSettings);
                 writer.println("Initial Positions: " + currentInitialPositions);
                 writer.println("Plugboard Pairs: " + String.join(" ", currentPlugboardPairs));
                 writer.println("=== END MESSAGE ===");
-                statusLabel.setText("Message saved to: " + fileChooser.getSelectedFile().getName());
+                if (outputBuffer.spilled() > 0) {
+                    // Hanya isi di memori yang masuk ke file pesan; riwayat penuh lewat Export Output
+                    statusLabel.setText("Message saved to: " + fileChooser.getSelectedFile().getName()
+                            + " (last " + OUTPUT_CAPACITY + " output characters - use Export Output for full history)");
+                } else {
+                    statusLabel.setText("Message saved to: " + fileChooser.getSelectedFile().getName());
+                }
             } catch (IOException e) {
                 JOptionPane.showMessageDialog(this, "Error saving file: " + e.getMessage(), "Save Error", JOptionPane.ERROR_MESSAGE);
                 statusLabel.setText("Save failed");
@@ -533,8 +774,9 @@ public class EnigmaGUI extends JFrame {
         if (fileChooser.showOpenDialog(this) == JFileChooser.APPROVE_OPTION) {
             try {
                 String content = new String(java.nio.file.Files.readAllBytes(fileChooser.getSelectedFile().toPath()));
-                outputArea.append("\n=== LOADED MESSAGE ===\n");
-                outputArea.append(content);
+                outputBuffer.append("\n=== LOADED MESSAGE ===\n");
+                outputBuffer.append(content);
+                scrollOutputToEnd();
                 statusLabel.setText("Message loaded successfully");
             } catch (IOException e) {
                 JOptionPane.showMessageDialog(this, "Error loading file: " + e.getMessage(), "Load Error", JOptionPane.ERROR_MESSAGE);
@@ -542,6 +784,28 @@ public class EnigmaGUI extends JFrame {
         }
     }
 
+    // Seluruh riwayat output, termasuk bagian yang sudah keluar dari memori ke file spill
+    private void exportOutput() {
+        if (outputBuffer.isEmpty() && outputBuffer.spilled() == 0) {
+            JOptionPane.showMessageDialog(this, "No output to export!", "Nothing to Export", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        JFileChooser fileChooser = new JFileChooser();
+        fileChooser.setDialogTitle("Export Output History");
+        fileChooser.setSelectedFile(new java.io.File("enigma_output.txt"));
+
+        if (fileChooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            try {
+                outputBuffer.exportTo(fileChooser.getSelectedFile().toPath());
+                statusLabel.setText("Output exported to: " + fileChooser.getSelectedFile().getName());
+            } catch (IOException e) {
+                JOptionPane.showMessageDialog(this, "Error exporting output: " + e.getMessage(), "Export Error", JOptionPane.ERROR_MESSAGE);
+                statusLabel.setText("Export failed");
+            }
+        }
+    }
+
     // ------------------ UI Helpers ------------------
     private JButton createModernButton(String text, String hexColor) {
         Color base = Color.decode(hexColor);
@@ -680,6 +944,9 @@ public class EnigmaGUI extends JFrame {
 
         im.put(KeyStroke.getKeyStroke(KeyEvent.VK_A, KeyEvent.CTRL_DOWN_MASK), "encryptAll");
         am.put("encryptAll", new AbstractAction() { public void actionPerformed(ActionEvent e) { encryptAllInput(); } });
+
+        im.put(KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0), "cancelEncrypt");
+        am.put("cancelEncrypt", new AbstractAction() { public void actionPerformed(ActionEvent e) { cancelBackgroundEncryption(); } });
     }
 
     private void toggleTheme() {
@@ -690,16 +957,16 @@ public class EnigmaGUI extends JFrame {
             accentColor = new Color(0x22C55E);
             accentDark = accentColor.darker();
             textColor = new Color(0xE5E7EB);
-            outputArea.setBackground(Color.BLACK);
-            outputArea.setForeground(accentColor);
+            outputList.setBackground(Color.BLACK);
+            outputList.setForeground(accentColor);
         } else {
             backgroundPanel = new Color(0xF3F4F6);
             cardColor = new Color(0xFFFFFF);
             accentColor = new Color(0x2563EB);
             accentDark = accentColor.darker();
             textColor = new Color(0x111827);
-            outputArea.setBackground(new Color(0xF8FAFF));
-            outputArea.setForeground(textColor);
+            outputList.setBackground(new Color(0xF8FAFF));
+            outputList.setForeground(textColor);
         }
         // apply to main components
         getContentPane().setBackground(backgroundPanel);
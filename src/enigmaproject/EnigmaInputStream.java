@@ -0,0 +1,115 @@
+package enigmaproject;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * EnigmaInputStream
+ * - Decorator InputStream: byte yang dibaca sudah dienkripsi/didekripsi
+ * - Hanya huruf ASCII A-Z/a-z yang dienkripsi (output huruf besar); byte lain,
+ *   termasuk UTF-8 non-ASCII, diteruskan apa adanya seperti EnigmaCli
+ * - Posisi rotor berlanjut antar panggilan read(); buffer internal berukuran tetap
+ * - Tidak thread-safe (sama seperti Enigma); mark/reset tidak didukung
+ */
+public class EnigmaInputStream extends FilterInputStream {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Enigma enigma;
+    private final byte[] buffer;
+    private int position;
+    private int limit;
+
+    public EnigmaInputStream(InputStream in, Enigma enigma) {
+        this(in, enigma, DEFAULT_BUFFER_SIZE);
+    }
+
+    public EnigmaInputStream(InputStream in, Enigma enigma, int bufferSize) {
+        super(in);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.enigma = enigma;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position < limit) {
+            int n = Math.min(len, limit - position);
+            System.arraycopy(buffer, position, b, off, n);
+            position += n;
+            return n;
+        }
+        if (len >= buffer.length) {
+            // Permintaan besar: baca dan enkripsi langsung di array pemanggil
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                enigma.encipher(b, off, n, b, off);
+            }
+            return n;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        return read(b, off, len);
+    }
+
+    // Byte yang dilewati tetap melewati mesin supaya posisi rotor tidak bergeser
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            int step = (int) Math.min(n - skipped, limit - position);
+            position += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (limit - position) + in.available();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readlimit) {
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            position = limit = 0;
+            return false;
+        }
+        enigma.encipher(buffer, 0, n, buffer, 0);
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
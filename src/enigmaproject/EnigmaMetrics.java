@@ -0,0 +1,287 @@
+package enigmaproject;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * EnigmaMetrics
+ * - Registry metrik proses untuk semua mesin Enigma: karakter terenkripsi, jumlah panggilan
+ *   encipher dan latency-nya, langkah rotor, mesin yang dibuat, dan seek
+ * - Counter LongAdder dan histogram log-linear (gaya HDR, galat relatif sekitar 6%),
+ *   semuanya lock-free sehingga aman dari banyak thread sekaligus
+ * - Dicatat per panggilan bulk encipher, bukan per huruf; langkah rotor diambil dari
+ *   selisih offset mesin, jadi loop enkripsi tidak bertambah kerja
+ * - Counter selalu aktif; latency (dua System.nanoTime() per panggilan, mahal untuk
+ *   panggilan satu huruf) hanya dicatat bila dinyalakan lewat -Denigma.metrics.latency=true,
+ *   setLatencyEnabled() atau atribut JMX LatencyEnabled
+ * - Dibaca lewat JMX (registerMBean) atau teks dump(); -Denigma.metrics=false mematikan
+ *   pencatatan sepenuhnya
+ * - reset() tidak atomik terhadap pencatatan yang sedang berjalan
+ */
+public final class EnigmaMetrics implements EnigmaMetricsMBean {
+
+    static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("enigma.metrics", "true"));
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final EnigmaMetrics INSTANCE = new EnigmaMetrics();
+    private static final String OBJECT_NAME = "enigmaproject:type=EnigmaMetrics";
+
+    private final LongAdder characters = new LongAdder();
+    private final LongAdder encipherCalls = new LongAdder();
+    private final LongAdder rotorSteps = new LongAdder();
+    private final LongAdder machines = new LongAdder();
+    private final LongAdder seeks = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile long startedNanos = System.nanoTime();
+    private volatile boolean latencyEnabled = ENABLED && Boolean.getBoolean("enigma.metrics.latency");
+
+    private EnigmaMetrics() {
+    }
+
+    public static EnigmaMetrics get() {
+        return INSTANCE;
+    }
+
+    // Daftarkan ke platform MBeanServer; aman dipanggil berkali-kali
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(INSTANCE, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    // ------------------ Hook dari Enigma ------------------
+
+    // Waktu mulai satu panggilan encipher; NOT_TIMED bila latency tidak dicatat
+    static long start() {
+        return ENABLED && INSTANCE.latencyEnabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    static void recordEncipher(int length, long steps, long started) {
+        if (ENABLED) {
+            INSTANCE.characters.add(length);
+            INSTANCE.encipherCalls.increment();
+            INSTANCE.rotorSteps.add(steps);
+            if (started != NOT_TIMED) {
+                INSTANCE.latency.record(System.nanoTime() - started);
+            }
+        }
+    }
+
+    static void recordMachine() {
+        if (ENABLED) {
+            INSTANCE.machines.increment();
+        }
+    }
+
+    static void recordSeek() {
+        if (ENABLED) {
+            INSTANCE.seeks.increment();
+        }
+    }
+
+    // ------------------ Nilai ------------------
+
+    @Override
+    public long getCharactersEnciphered() {
+        return characters.sum();
+    }
+
+    @Override
+    public double getCharactersPerSecond() {
+        return characters.sum() * 1e9 / Math.max(1, System.nanoTime() - startedNanos);
+    }
+
+    @Override
+    public long getEncipherCalls() {
+        return encipherCalls.sum();
+    }
+
+    @Override
+    public boolean isLatencyEnabled() {
+        return latencyEnabled;
+    }
+
+    // Tidak berpengaruh bila -Denigma.metrics=false
+    @Override
+    public void setLatencyEnabled(boolean enabled) {
+        latencyEnabled = ENABLED && enabled;
+    }
+
+    @Override
+    public long getRotorSteps() {
+        return rotorSteps.sum();
+    }
+
+    @Override
+    public long getMachinesConstructed() {
+        return machines.sum();
+    }
+
+    @Override
+    public long getSeeks() {
+        return seeks.sum();
+    }
+
+    @Override
+    public double getEncipherLatencyMeanNanos() {
+        return latency.mean();
+    }
+
+    @Override
+    public long getEncipherLatencyP50Nanos() {
+        return latency.percentile(50);
+    }
+
+    @Override
+    public long getEncipherLatencyP99Nanos() {
+        return latency.percentile(99);
+    }
+
+    @Override
+    public long getEncipherLatencyP999Nanos() {
+        return latency.percentile(99.9);
+    }
+
+    @Override
+    public long getEncipherLatencyMaxNanos() {
+        return latency.max();
+    }
+
+    // Satu metrik per baris "nama nilai", mudah di-grep atau di-scrape
+    @Override
+    public String dump() {
+        StringBuilder sb = new StringBuilder();
+        line(sb, "enigma_metrics_enabled", ENABLED ? "1" : "0");
+        line(sb, "enigma_latency_enabled", latencyEnabled ? "1" : "0");
+        line(sb, "enigma_uptime_seconds", String.format("%.3f", (System.nanoTime() - startedNanos) / 1e9));
+        line(sb, "enigma_characters_total", getCharactersEnciphered());
+        line(sb, "enigma_characters_per_second", String.format("%.1f", getCharactersPerSecond()));
+        line(sb, "enigma_encipher_calls_total", getEncipherCalls());
+        line(sb, "enigma_rotor_steps_total", getRotorSteps());
+        line(sb, "enigma_machines_constructed_total", getMachinesConstructed());
+        line(sb, "enigma_seeks_total", getSeeks());
+        line(sb, "enigma_encipher_latency_nanos_mean", String.format("%.1f", getEncipherLatencyMeanNanos()));
+        line(sb, "enigma_encipher_latency_nanos{quantile=\"0.5\"}", getEncipherLatencyP50Nanos());
+        line(sb, "enigma_encipher_latency_nanos{quantile=\"0.9\"}", latency.percentile(90));
+        line(sb, "enigma_encipher_latency_nanos{quantile=\"0.99\"}", getEncipherLatencyP99Nanos());
+        line(sb, "enigma_encipher_latency_nanos{quantile=\"0.999\"}", getEncipherLatencyP999Nanos());
+        line(sb, "enigma_encipher_latency_nanos_max", getEncipherLatencyMaxNanos());
+        return sb.toString();
+    }
+
+    private static void line(StringBuilder sb, String name, Object value) {
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    @Override
+    public void reset() {
+        characters.reset();
+        encipherCalls.reset();
+        rotorSteps.reset();
+        machines.reset();
+        seeks.reset();
+        latency.reset();
+        startedNanos = System.nanoTime();
+    }
+
+    @Override
+    public String toString() {
+        return dump();
+    }
+
+    // Histogram log-linear: nilai < 32 tepat, di atasnya 16 bucket per pangkat dua.
+    // Percentile mengembalikan batas atas bucket (nilai tertinggi yang setara).
+    static final class LatencyHistogram {
+        private static final int SUB_BITS = 4;
+        private static final int SUB_COUNT = 1 << SUB_BITS;
+        private static final long MAX_VALUE = (1L << 40) - 1;   // Sekitar 18 menit
+        private static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+        private final LongAdder[] counts = new LongAdder[BUCKETS];
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        LatencyHistogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = new LongAdder();
+            }
+        }
+
+        void record(long value) {
+            long clamped = Math.max(0, Math.min(value, MAX_VALUE));
+            counts[bucketOf(clamped)].increment();
+            total.add(clamped);
+            max.accumulate(clamped);
+        }
+
+        static int bucketOf(long value) {
+            int shift = Math.max(0, 63 - Long.numberOfLeadingZeros(value) - SUB_BITS);
+            return (shift << SUB_BITS) + (int) (value >>> shift);
+        }
+
+        static long upperBound(int bucket) {
+            if (bucket < 2 * SUB_COUNT) {
+                return bucket;
+            }
+            int shift = (bucket >>> SUB_BITS) - 1;
+            long mantissa = bucket - ((long) shift << SUB_BITS);
+            return ((mantissa + 1) << shift) - 1;
+        }
+
+        long count() {
+            long sum = 0;
+            for (LongAdder count : counts) {
+                sum += count.sum();
+            }
+            return sum;
+        }
+
+        double mean() {
+            long count = count();
+            return count == 0 ? 0 : (double) total.sum() / count;
+        }
+
+        long max() {
+            return max.get();
+        }
+
+        long percentile(double percent) {
+            long[] snapshot = new long[BUCKETS];
+            long count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                snapshot[i] = counts[i].sum();
+                count += snapshot[i];
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percent / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += snapshot[i];
+                if (seen >= rank) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        void reset() {
+            for (LongAdder count : counts) {
+                count.reset();
+            }
+            total.reset();
+            max.reset();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package enigmaproject;
+
+/**
+ * EnigmaMetricsMBean
+ * - Antarmuka JMX untuk EnigmaMetrics (ObjectName enigmaproject:type=EnigmaMetrics)
+ * - Semua nilai kumulatif sejak start atau reset() terakhir; latency dalam nanodetik
+ * - Latency hanya terisi selama LatencyEnabled bernilai true
+ */
+public interface EnigmaMetricsMBean {
+
+    long getCharactersEnciphered();
+
+    double getCharactersPerSecond();
+
+    long getEncipherCalls();
+
+    long getRotorSteps();
+
+    long getMachinesConstructed();
+
+    long getSeeks();
+
+    double getEncipherLatencyMeanNanos();
+
+    long getEncipherLatencyP50Nanos();
+
+    long getEncipherLatencyP99Nanos();
+
+    long getEncipherLatencyP999Nanos();
+
+    long getEncipherLatencyMaxNanos();
+
+    boolean isLatencyEnabled();
+
+    void setLatencyEnabled(boolean enabled);
+
+    String dump();
+
+    void reset();
+}
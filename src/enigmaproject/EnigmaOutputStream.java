@@ -0,0 +1,85 @@
+package enigmaproject;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * EnigmaOutputStream
+ * - Decorator OutputStream: byte dienkripsi/didekripsi sebelum diteruskan ke stream tujuan
+ * - Hanya huruf ASCII A-Z/a-z yang dienkripsi (output huruf besar); byte lain diteruskan apa adanya
+ * - Data disalin ke buffer internal lalu dienkripsi di sana, array pemanggil tidak diubah;
+ *   flush() dan close() mengosongkan buffer lebih dulu
+ * - Tidak thread-safe (sama seperti Enigma)
+ */
+public class EnigmaOutputStream extends FilterOutputStream {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Enigma enigma;
+    private final byte[] buffer;
+    private int count;
+    private boolean closed;
+
+    public EnigmaOutputStream(OutputStream out, Enigma enigma) {
+        this(out, enigma, DEFAULT_BUFFER_SIZE);
+    }
+
+    public EnigmaOutputStream(OutputStream out, Enigma enigma, int bufferSize) {
+        super(out);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.enigma = enigma;
+        this.buffer = new byte[bufferSize];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(b, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            enigma.encipher(buffer, 0, count, buffer, 0);
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package enigmaproject;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * EnigmaReader
+ * - Decorator Reader: setiap karakter yang dibaca sudah dienkripsi/didekripsi
+ * - Posisi rotor berlanjut antar panggilan read(), jadi hasilnya sama dengan
+ *   encipher(String) atas seluruh isi stream
+ * - Buffer internal berukuran tetap: memori konstan berapa pun panjang stream
+ * - Tidak thread-safe (sama seperti Enigma); mark/reset tidak didukung
+ */
+public class EnigmaReader extends FilterReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Enigma enigma;
+    private final char[] buffer;
+    private int position;
+    private int limit;
+
+    public EnigmaReader(Reader in, Enigma enigma) {
+        this(in, enigma, DEFAULT_BUFFER_SIZE);
+    }
+
+    public EnigmaReader(Reader in, Enigma enigma, int bufferSize) {
+        super(in);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.enigma = enigma;
+        this.buffer = new char[bufferSize];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (position < limit) {
+            int n = Math.min(len, limit - position);
+            System.arraycopy(buffer, position, cbuf, off, n);
+            position += n;
+            return n;
+        }
+        if (len >= buffer.length) {
+            // Permintaan besar: baca dan enkripsi langsung di array pemanggil
+            int n = in.read(cbuf, off, len);
+            if (n > 0) {
+                enigma.encipher(cbuf, off, n, cbuf, off);
+            }
+            return n;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        return read(cbuf, off, len);
+    }
+
+    // Karakter yang dilewati tetap melewati mesin supaya posisi rotor tidak bergeser
+    @Override
+    public long skip(long n) throws IOException {
+        if (n < 0) {
+            throw new IllegalArgumentException("Skip count must not be negative");
+        }
+        long skipped = 0;
+        while (skipped < n) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            int step = (int) Math.min(n - skipped, limit - position);
+            position += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public boolean ready() throws IOException {
+        return position < limit || in.ready();
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public void mark(int readAheadLimit) throws IOException {
+        throw new IOException("mark() not supported");
+    }
+
+    @Override
+    public void reset() throws IOException {
+        throw new IOException("reset() not supported");
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(buffer, 0, buffer.length);
+        if (n <= 0) {
+            position = limit = 0;
+            return false;
+        }
+        enigma.encipher(buffer, 0, n, buffer, 0);
+        position = 0;
+        limit = n;
+        return true;
+    }
+}
@@ -0,0 +1,312 @@
+package enigmaproject;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * EnigmaServer
+ * - Layanan enkripsi HTTP lokal di atas com.sun.net.httpserver bawaan JDK,
+ *   satu virtual thread per request
+ * - POST /encrypt dan POST /decrypt (Enigma simetris, keduanya operasi yang sama);
+ *   setting lewat query string dengan nama seperti EnigmaCli: rotors, reflector,
+ *   ring, pos, plug (default sama dengan EnigmaCli)
+ * - Body dienkripsi per blok sambil dibaca dan tidak pernah menjadi String; hasil di atas
+ *   1 MB ditampung di file sementara, bukan di heap. Hanya huruf ASCII yang dienkripsi,
+ *   jadi panjang response sama dengan request
+ * - EnigmaConfig terkompilasi di-cache per setting; tiap request hanya newMachine()
+ * - GET /metrics mengembalikan EnigmaMetrics.dump(); MBean juga didaftarkan saat start()
+ * - main() menyalakan TCP_NODELAY; aplikasi yang memakai constructor langsung sebaiknya
+ *   menjalankan JVM dengan -Dsun.net.httpserver.nodelay=true supaya request kecil tidak
+ *   tertahan sekitar 40 ms
+ *
+ * Contoh:
+ *   java -cp EnigmaProject.jar enigmaproject.EnigmaServer --port 8080
+ *   curl --data-binary @in.txt "http://localhost:8080/encrypt?rotors=I+II+III&pos=Q+E+V&plug=AT+BS"
+ */
+public final class EnigmaServer {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final String DEFAULT_HOST = "127.0.0.1";
+    private static final int BACKLOG = 1024;
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MEMORY_LIMIT = 1 << 20;
+
+    // Batas jumlah setting yang di-cache; setting di luar batas tetap dilayani, hanya tidak disimpan
+    private static final int MAX_CACHED_CONFIGS = 4096;
+
+    private static final String USAGE =
+            "Usage: java enigmaproject.EnigmaServer [--host 127.0.0.1] [--port 8080]\n"
+            + "  POST /encrypt or /decrypt with the message as request body\n"
+            + "  query: rotors, reflector, ring, pos, plug (same as EnigmaCli), e.g.\n"
+            + "  /encrypt?rotors=I+II+III&pos=Q+E+V&plug=AT+BS\n"
+            + "  GET /metrics for throughput, latency and machine counters\n"
+            + "  (latency needs -Denigma.metrics.latency=true or the JMX LatencyEnabled attribute)";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, EnigmaConfig> configs = new ConcurrentHashMap<>();
+
+    public EnigmaServer(InetSocketAddress address) throws IOException {
+        server = HttpServer.create(address, BACKLOG);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/encrypt", this::handle);
+        server.createContext("/decrypt", this::handle);
+        server.createContext("/metrics", EnigmaServer::handleMetrics);
+    }
+
+    public void start() {
+        EnigmaMetrics.registerMBean();
+        server.start();
+    }
+
+    // Menunggu paling lama delaySeconds untuk request yang sedang berjalan
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        executor.close();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public static void main(String[] args) throws IOException {
+        // Header dan body response dikirim dalam dua write; tanpa TCP_NODELAY, Nagle dan
+        // delayed ACK klien menahan setiap request kecil sekitar 40 ms. Hanya di main karena
+        // property ini berlaku untuk seluruh JVM dan dibaca sekali saat HttpServer JDK dimuat.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+
+        String host = DEFAULT_HOST;
+        int port = DEFAULT_PORT;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                if (args[i].equals("--help") || args[i].equals("-h")) {
+                    System.out.println(USAGE);
+                    return;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                switch (args[i]) {
+                    case "--host":
+                        host = args[++i];
+                        break;
+                    case "--port":
+                        port = Integer.parseInt(args[++i]);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        EnigmaServer server = new EnigmaServer(new InetSocketAddress(host, port));
+        server.start();
+        System.out.println("Enigma server listening on http://" + host + ":" + server.getPort());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (!path.equals("/encrypt") && !path.equals("/decrypt")) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("POST")) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendError(exchange, 405, "Use POST with the message as request body");
+                return;
+            }
+
+            EnigmaConfig config;
+            try {
+                config = configFor(exchange.getRequestURI().getRawQuery());
+            } catch (IllegalArgumentException e) {
+                sendError(exchange, 400, e.getMessage());
+                return;
+            }
+            encipherBody(exchange, config.newMachine());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            if (!exchange.getRequestURI().getPath().equals("/metrics")) {
+                sendError(exchange, 404, "Not found");
+                return;
+            }
+            if (!exchange.getRequestMethod().equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendError(exchange, 405, "Use GET");
+                return;
+            }
+            byte[] body = EnigmaMetrics.get().dump().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Body dienkripsi sambil dibaca per blok. Response baru dikirim setelah body habis, karena
+    // banyak klien HTTP/1.1 (termasuk java.net.http.HttpClient) belum membaca response sebelum
+    // selesai mengirim; menulis lebih awal bisa deadlock saat buffer socket penuh. Hasil sampai
+    // MEMORY_LIMIT ditahan di byte[], lebih dari itu di file sementara.
+    private static void encipherBody(HttpExchange exchange, Enigma enigma) throws IOException {
+        long length = contentLength(exchange);
+        byte[] buffer = new byte[length >= 0 ? (int) Math.max(1, Math.min(length, MEMORY_LIMIT)) : BUFFER_SIZE];
+        int count = 0;
+        Path spool = null;
+        OutputStream spoolOut = null;
+        try {
+            try (InputStream in = exchange.getRequestBody()) {
+                while (true) {
+                    if (count == buffer.length) {
+                        if (buffer.length < MEMORY_LIMIT) {
+                            buffer = Arrays.copyOf(buffer, Math.min(MEMORY_LIMIT, buffer.length * 2));
+                        } else {
+                            if (spool == null) {
+                                spool = Files.createTempFile("enigma-server", ".bin");
+                                spoolOut = Files.newOutputStream(spool);
+                            }
+                            spoolOut.write(buffer, 0, count);
+                            count = 0;
+                        }
+                    }
+                    int read = in.read(buffer, count, buffer.length - count);
+                    if (read == -1) {
+                        break;
+                    }
+                    enigma.encipher(buffer, count, read, buffer, count);
+                    count += read;
+                }
+            }
+
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            exchange.getResponseHeaders().set("Content-Type",
+                    contentType != null ? contentType : "text/plain; charset=UTF-8");
+            if (spool == null) {
+                exchange.sendResponseHeaders(200, count == 0 ? -1 : count);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(buffer, 0, count);
+                }
+            } else {
+                spoolOut.write(buffer, 0, count);
+                spoolOut.close();
+                exchange.sendResponseHeaders(200, Files.size(spool));
+                try (OutputStream out = exchange.getResponseBody()) {
+                    Files.copy(spool, out);
+                }
+            }
+        } finally {
+            // Stream bisa null jika newOutputStream gagal; file sementara tetap dihapus
+            try {
+                if (spoolOut != null) {
+                    spoolOut.close();
+                }
+            } finally {
+                if (spool != null) {
+                    Files.deleteIfExists(spool);
+                }
+            }
+        }
+    }
+
+    private static long contentLength(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (header == null) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    // Config per query string dari cache; query kosong berarti setting default EnigmaCli.
+    // Key cache adalah query mentah, jadi request berulang tidak di-decode/parse lagi.
+    EnigmaConfig configFor(String rawQuery) {
+        String key = rawQuery == null ? "" : rawQuery;
+        EnigmaConfig cached = configs.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        String rotors = EnigmaCli.DEFAULT_ROTORS;
+        String reflector = EnigmaCli.DEFAULT_REFLECTOR;
+        String ring = null;
+        String positions = null;
+        String plugboard = "";
+
+        if (!key.isEmpty()) {
+            for (String parameter : key.split("&")) {
+                if (parameter.isEmpty()) {
+                    continue;
+                }
+                int equals = parameter.indexOf('=');
+                String name = equals < 0 ? parameter : parameter.substring(0, equals);
+                String value = equals < 0 ? "" : URLDecoder.decode(parameter.substring(equals + 1), StandardCharsets.UTF_8);
+                switch (name) {
+                    case "rotors":
+                        rotors = value;
+                        break;
+                    case "reflector":
+                        reflector = value;
+                        break;
+                    case "ring":
+                        ring = value;
+                        break;
+                    case "pos":
+                        positions = value;
+                        break;
+                    case "plug":
+                        plugboard = value;
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown parameter " + name);
+                }
+            }
+        }
+
+        EnigmaConfig config = EnigmaCli.buildConfig(rotors, reflector, ring, positions, plugboard);
+        if (configs.size() < MAX_CACHED_CONFIGS) {
+            configs.putIfAbsent(key, config);
+        }
+        return config;
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
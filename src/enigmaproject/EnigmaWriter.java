@@ -0,0 +1,99 @@
+package enigmaproject;
+
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * EnigmaWriter
+ * - Decorator Writer: karakter dienkripsi/didekripsi sebelum diteruskan ke writer tujuan
+ * - Posisi rotor berlanjut antar panggilan write()
+ * - Data disalin ke buffer internal lalu dienkripsi di sana, array/String pemanggil
+ *   tidak diubah; flush() dan close() mengosongkan buffer lebih dulu
+ * - Tidak thread-safe (sama seperti Enigma)
+ */
+public class EnigmaWriter extends FilterWriter {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final Enigma enigma;
+    private final char[] buffer;
+    private int count;
+    private boolean closed;
+
+    public EnigmaWriter(Writer out, Enigma enigma) {
+        this(out, enigma, DEFAULT_BUFFER_SIZE);
+    }
+
+    public EnigmaWriter(Writer out, Enigma enigma, int bufferSize) {
+        super(out);
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be positive");
+        }
+        this.enigma = enigma;
+        this.buffer = new char[bufferSize];
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (count == buffer.length) {
+            flushBuffer();
+        }
+        buffer[count++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int n = Math.min(len, buffer.length - count);
+            System.arraycopy(cbuf, off, buffer, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            int n = Math.min(len, buffer.length - count);
+            str.getChars(off, off + n, buffer, count);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flushBuffer();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            enigma.encipher(buffer, 0, count, buffer, 0);
+            out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
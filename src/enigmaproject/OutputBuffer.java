@@ -0,0 +1,314 @@
+package enigmaproject;
+
+import javax.swing.AbstractListModel;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * OutputBuffer
+ * - Model output GUI: ring buffer karakter berkapasitas tetap, memori tidak tumbuh
+ *   walaupun GUI dipakai berjam-jam atau memuat teks besar
+ * - Teks dipecah menjadi baris di '\n' atau setiap wrapWidth karakter; sebagai ListModel,
+ *   JList dengan tinggi/lebar sel tetap hanya me-layout baris yang terlihat
+ * - Karakter tertua yang tergusur ditulis ke file spill sementara, sehingga seluruh riwayat
+ *   tetap bisa diekspor ke disk dengan exportTo()
+ * - Posisi bersifat absolut (terus bertambah sejak buffer dibuat), termasuk setelah clear()
+ * - Hanya dipakai dari EDT (sama seperti komponen Swing lainnya)
+ */
+final class OutputBuffer extends AbstractListModel<String> {
+
+    private final char[] ring;
+    private final int wrapWidth;
+    private long start;   // Posisi absolut karakter tertua yang masih disimpan
+    private long end;     // Posisi absolut setelah karakter terakhir
+
+    // Posisi awal setiap baris, deque melingkar; baris terakhir berakhir di `end`
+    private long[] rowStarts = new long[256];
+    private int rowHead;
+    private int rowCount;
+
+    // Riwayat yang sudah keluar dari ring buffer; dibuat saat penggusuran pertama
+    private Path spillFile;
+    private Writer spill;
+    private long spilled;
+    private IOException spillError;
+
+    OutputBuffer(int capacity, int wrapWidth) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Output capacity must be positive");
+        }
+        if (wrapWidth < 1) {
+            throw new IllegalArgumentException("Wrap width must be positive");
+        }
+        this.ring = new char[capacity];
+        this.wrapWidth = wrapWidth;
+    }
+
+    long start() {
+        return start;
+    }
+
+    long end() {
+        return end;
+    }
+
+    int capacity() {
+        return ring.length;
+    }
+
+    // Jumlah karakter yang sudah dipindah ke file spill (bukan lagi di memori)
+    long spilled() {
+        return spilled;
+    }
+
+    boolean isEmpty() {
+        return start == end;
+    }
+
+    void append(CharSequence text) {
+        int length = text.length();
+        if (length == 0) {
+            return;
+        }
+        int oldRows = rowCount;
+        int removedRows = 0;
+        int from = 0;
+        if (length >= ring.length) {
+            // Teks lebih besar dari ring: isi lama dan bagian depan teks langsung ke spill
+            removedRows = evict(end - start);
+            from = length - ring.length;
+            writeSpill(text, 0, from);
+            start = end = end + from;
+        } else if (end - start + length > ring.length) {
+            removedRows = evict(end - start + length - ring.length);
+        }
+        for (int i = from; i < length; i++) {
+            put(text.charAt(i), i > 0 ? text.charAt(i - 1) : lastChar());
+        }
+        fireRowChanges(oldRows, removedRows);
+    }
+
+    // Buang `count` karakter terakhir (tidak melewati start); dipakai saat backspace
+    void removeLast(long count) {
+        long newEnd = Math.max(start, end - Math.max(0, count));
+        if (newEnd == end) {
+            return;
+        }
+        int oldRows = rowCount;
+        end = newEnd;
+        while (rowCount > 0 && rowStart(rowCount - 1) >= end) {
+            rowCount--;
+        }
+        fireRowChanges(oldRows, 0);
+    }
+
+    // Kosongkan tampilan dan riwayat spill; posisi absolut tidak diulang dari nol
+    void clear() {
+        int oldRows = rowCount;
+        start = end;
+        rowCount = 0;
+        rowHead = 0;
+        discardSpill();
+        if (oldRows > 0) {
+            fireIntervalRemoved(this, 0, oldRows - 1);
+        }
+    }
+
+    // Isi yang masih ada di memori (maksimal capacity karakter)
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder((int) (end - start));
+        appendRange(sb, start, end);
+        return sb.toString();
+    }
+
+    // Seluruh riwayat: isi file spill lalu isi ring buffer
+    void exportTo(Path target) throws IOException {
+        if (spillError != null) {
+            throw new IOException("Output history is incomplete: " + spillError.getMessage(), spillError);
+        }
+        if (spill != null) {
+            spill.flush();
+        }
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            if (spillFile != null) {
+                try (Reader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+                    reader.transferTo(writer);
+                }
+            }
+            writer.write(toString());
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return rowCount;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        long from = rowStart(index);
+        long to = index + 1 < rowCount ? rowStart(index + 1) : end;
+        if (to > from && charAt(to - 1) == '\n') {
+            to--;
+        }
+        StringBuilder sb = new StringBuilder((int) (to - from));
+        appendRange(sb, from, to);
+        return sb.toString();
+    }
+
+    private void put(char ch, char previous) {
+        long position = end;
+        ring[(int) (position % ring.length)] = ch;
+        end++;
+
+        // Baris baru setelah '\n' atau saat baris penuh; '\n' sendiri menutup baris yang ada
+        boolean newRow;
+        if (rowCount == 0) {
+            newRow = true;
+        } else if (previous == '\n') {
+            newRow = true;
+        } else {
+            newRow = ch != '\n' && position - rowStart(rowCount - 1) >= wrapWidth;
+        }
+        if (newRow) {
+            pushRow(position);
+        }
+    }
+
+    private char lastChar() {
+        return end > start ? charAt(end - 1) : '\n';
+    }
+
+    private char charAt(long position) {
+        return ring[(int) (position % ring.length)];
+    }
+
+    private void appendRange(StringBuilder sb, long from, long to) {
+        while (from < to) {
+            int index = (int) (from % ring.length);
+            int n = (int) Math.min(to - from, ring.length - index);
+            sb.append(ring, index, n);
+            from += n;
+        }
+    }
+
+    // Geser start sejauh `count` karakter; mengembalikan jumlah baris depan yang hilang
+    private int evict(long count) {
+        if (count <= 0) {
+            return 0;
+        }
+        long newStart = start + count;
+        if (spillError == null) {
+            try {
+                openSpill();
+                long from = start;
+                while (from < newStart) {
+                    int index = (int) (from % ring.length);
+                    int n = (int) Math.min(newStart - from, ring.length - index);
+                    spill.write(ring, index, n);
+                    from += n;
+                }
+                spilled += count;
+            } catch (IOException e) {
+                // GUI tetap berjalan; exportTo() melaporkan bahwa riwayat tidak lengkap
+                spillError = e;
+            }
+        }
+        start = newStart;
+
+        int removed = 0;
+        while (rowCount > 0) {
+            long rowEnd = rowCount > 1 ? rowStart(1) : end;
+            if (rowEnd > start) {
+                break;
+            }
+            rowHead = (rowHead + 1) % rowStarts.length;
+            rowCount--;
+            removed++;
+        }
+        if (rowCount > 0 && rowStarts[rowHead] < start) {
+            rowStarts[rowHead] = start;
+        }
+        return removed;
+    }
+
+    private void writeSpill(CharSequence text, int from, int to) {
+        if (spillError != null || from >= to) {
+            return;
+        }
+        try {
+            openSpill();
+            spill.append(text, from, to);
+            spilled += to - from;
+        } catch (IOException e) {
+            spillError = e;
+        }
+    }
+
+    private void openSpill() throws IOException {
+        if (spill == null) {
+            spillFile = Files.createTempFile("enigma-output", ".txt");
+            spillFile.toFile().deleteOnExit();
+            spill = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void discardSpill() {
+        try {
+            if (spill != null) {
+                spill.close();
+            }
+            if (spillFile != null) {
+                Files.deleteIfExists(spillFile);
+            }
+        } catch (IOException e) {
+            // File sementara; deleteOnExit tetap membersihkannya
+        }
+        spill = null;
+        spillFile = null;
+        spilled = 0;
+        spillError = null;
+    }
+
+    private long rowStart(int index) {
+        return rowStarts[(rowHead + index) % rowStarts.length];
+    }
+
+    private void pushRow(long position) {
+        if (rowCount == rowStarts.length) {
+            long[] grown = new long[rowStarts.length * 2];
+            for (int i = 0; i < rowCount; i++) {
+                grown[i] = rowStart(i);
+            }
+            rowStarts = grown;
+            rowHead = 0;
+        }
+        rowStarts[(rowHead + rowCount) % rowStarts.length] = position;
+        rowCount++;
+    }
+
+    // Baris yang tersisa dari sebelum operasi tetap berurutan setelah baris depan yang hilang
+    private void fireRowChanges(int oldRows, int removedRows) {
+        if (removedRows > 0) {
+            fireIntervalRemoved(this, 0, removedRows - 1);
+        }
+        int kept = oldRows - removedRows;
+        if (kept > rowCount) {
+            fireIntervalRemoved(this, rowCount, kept - 1);
+            kept = rowCount;
+        }
+        if (kept > 0) {
+            // Baris pertama bisa terpotong, baris terakhir bisa bertambah atau berkurang
+            fireContentsChanged(this, 0, 0);
+            fireContentsChanged(this, kept - 1, kept - 1);
+        }
+        if (rowCount > kept) {
+            fireIntervalAdded(this, kept, rowCount - 1);
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package enigmaproject;
+
+/**
+ * PlugboardHillClimber
+ * - Serangan ciphertext-only: mencari pasangan plugboard untuk urutan rotor,
+ *   ring setting dan posisi awal yang sudah diketahui (mis. hasil RotorStartSearch)
+ * - Hill-climbing bertahap ala Gillogly/Weierud: index of coincidence dulu, lalu
+ *   bigram, lalu trigram (fase n-gram hanya jika LanguageModel diberikan)
+ * - Loop dalam hanya memakai array primitif: scrambler per posisi dihitung sekali,
+ *   tiap dekripsi percobaan tanpa alokasi String
+ */
+public class PlugboardHillClimber {
+
+    private static final int PHASE_IOC = 0;
+    private static final int PHASE_BIGRAM = 1;
+    private static final int PHASE_TRIGRAM = 2;
+
+    private final byte[] ciphertext;
+    private final int length;
+    private final byte[] scramblers;   // Scrambler tanpa plugboard per posisi: [i * 26 + huruf]
+    private final LanguageModel model;
+    private int maxPairs = 10;
+
+    // Scratch, dipakai ulang di setiap percobaan
+    private final byte[] plain;
+    private final int[] counts = new int[26];
+    private final int[] trial = new int[26];
+    private final int[] bestTrial = new int[26];
+
+    // Hasil hill-climbing
+    public static final class Result {
+        private final String[] plugboardPairs;
+        private final double score;
+        private final String plaintext;
+
+        Result(String[] plugboardPairs, double score, String plaintext) {
+            this.plugboardPairs = plugboardPairs;
+            this.score = score;
+            this.plaintext = plaintext;
+        }
+
+        public String[] getPlugboardPairs() {
+            return plugboardPairs.clone();
+        }
+
+        // Skor fase terakhir (IoC, atau log-probabilitas trigram jika ada model)
+        public double getScore() {
+            return score;
+        }
+
+        public String getPlaintext() {
+            return plaintext;
+        }
+    }
+
+    // Plugboard di config diabaikan; hanya rotor, ring setting, posisi awal dan reflector
+    // yang dipakai. model boleh null untuk hill-climbing dengan IoC saja.
+    public PlugboardHillClimber(EnigmaConfig key, String ciphertext, LanguageModel model) {
+        this.ciphertext = WheelSet.letterIndexes(ciphertext);
+        this.length = this.ciphertext.length;
+        this.plain = new byte[length];
+        this.scramblers = key.newMachine().scramblerSequence(length);
+        this.model = model;
+    }
+
+    public void setMaxPairs(int maxPairs) {
+        if (maxPairs < 0 || maxPairs > 13) {
+            throw new IllegalArgumentException("Plugboard pairs must be between 0 and 13");
+        }
+        this.maxPairs = maxPairs;
+    }
+
+    public Result climb() {
+        int[] plugboard = new int[26];
+        for (int i = 0; i < 26; i++) {
+            plugboard[i] = i;
+        }
+
+        int lastPhase = model == null ? PHASE_IOC : PHASE_TRIGRAM;
+        double score = 0;
+        for (int phase = PHASE_IOC; phase <= lastPhase; phase++) {
+            score = climbPhase(plugboard, phase);
+        }
+
+        decrypt(plugboard);
+        char[] text = new char[length];
+        for (int i = 0; i < length; i++) {
+            text[i] = (char) ('A' + plain[i]);
+        }
+        return new Result(pairsOf(plugboard), score, new String(text));
+    }
+
+    // Coba semua pasangan huruf sampai tidak ada perubahan yang menaikkan skor
+    private double climbPhase(int[] plugboard, int phase) {
+        double best = score(plugboard, phase);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int a = 0; a < 26; a++) {
+                for (int b = a + 1; b < 26; b++) {
+                    double candidate = bestMove(plugboard, a, b, phase);
+                    if (candidate > best) {
+                        System.arraycopy(bestTrial, 0, plugboard, 0, 26);
+                        best = candidate;
+                        improved = true;
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    // Variasi perubahan untuk pasangan (a, b); plugboard terbaik ditaruh di bestTrial
+    private double bestMove(int[] plugboard, int a, int b, int phase) {
+        double best = Double.NEGATIVE_INFINITY;
+        int x = plugboard[a];
+        int y = plugboard[b];
+
+        if (x == b) {
+            // Lepas sambungan a-b
+            System.arraycopy(plugboard, 0, trial, 0, 26);
+            trial[a] = a;
+            trial[b] = b;
+            best = tryTrial(phase, best);
+        } else {
+            // Sambungkan a-b, pasangan lama a dan b dilepas
+            System.arraycopy(plugboard, 0, trial, 0, 26);
+            trial[x] = x;
+            trial[y] = y;
+            trial[a] = b;
+            trial[b] = a;
+            if (pairCount(trial) <= maxPairs) {
+                best = tryTrial(phase, best);
+            }
+
+            // Sambungkan a-b dan pasangan lama mereka satu sama lain
+            if (x != a && y != b) {
+                trial[x] = y;
+                trial[y] = x;
+                if (pairCount(trial) <= maxPairs) {
+                    best = tryTrial(phase, best);
+                }
+            }
+        }
+        return best;
+    }
+
+    private double tryTrial(int phase, double best) {
+        double score = score(trial, phase);
+        if (score > best) {
+            System.arraycopy(trial, 0, bestTrial, 0, 26);
+            return score;
+        }
+        return best;
+    }
+
+    private double score(int[] plugboard, int phase) {
+        decrypt(plugboard);
+        switch (phase) {
+            case PHASE_BIGRAM:
+                return model.bigramScore(plain, length);
+            case PHASE_TRIGRAM:
+                return model.trigramScore(plain, length);
+            default:
+                return LanguageModel.indexOfCoincidence(plain, length, counts);
+        }
+    }
+
+    private void decrypt(int[] plugboard) {
+        for (int i = 0; i < length; i++) {
+            plain[i] = (byte) plugboard[scramblers[i * 26 + plugboard[ciphertext[i]]]];
+        }
+    }
+
+    private static int pairCount(int[] plugboard) {
+        int swapped = 0;
+        for (int i = 0; i < 26; i++) {
+            if (plugboard[i] != i) swapped++;
+        }
+        return swapped / 2;
+    }
+
+    private static String[] pairsOf(int[] plugboard) {
+        String[] pairs = new String[pairCount(plugboard)];
+        int n = 0;
+        for (int i = 0; i < 26; i++) {
+            if (plugboard[i] > i) {
+                pairs[n++] = "" + (char) ('A' + i) + (char) ('A' + plugboard[i]);
+            }
+        }
+        return pairs;
+    }
+}
@@ -0,0 +1,256 @@
+package enigmaproject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RotorStartSearch
+ * - Fase pertama serangan ciphertext-only: coba semua urutan 3 rotor x 17.576
+ *   posisi awal (x ring setting bila diminta), dekripsi tanpa plugboard
+ *   dan urutkan berdasarkan index of coincidence
+ * - Hanya K kandidat terbaik yang disimpan (satu heap terbatas per thread worker,
+ *   digabung di akhir), jadi memori O(K x worker), tidak tumbuh dengan ruang pencarian
+ * - Paralel dengan work-stealing ForkJoinPool; progress dan ETA lewat callback
+ * - Kandidat terbaik bisa diteruskan ke PlugboardHillClimber
+ */
+public class RotorStartSearch {
+
+    private static final int ROTORS = WheelSet.ROTORS;
+    private static final int STATES = 26 * 26 * 26;
+    private static final int STARTS_PER_TASK = 4096;
+
+    private final WheelSet wheels;
+
+    // Dipanggil dari thread worker setiap satu task selesai
+    public interface ProgressListener {
+        void progress(long done, long total, long etaMillis);
+    }
+
+    // Satu kandidat kunci (tanpa plugboard)
+    public static final class Candidate {
+        private final int[] rotorOrder;
+        private final String ringSettings;
+        private final String positions;
+        private final double indexOfCoincidence;
+
+        Candidate(int[] rotorOrder, String ringSettings, String positions, double indexOfCoincidence) {
+            this.rotorOrder = rotorOrder;
+            this.ringSettings = ringSettings;
+            this.positions = positions;
+            this.indexOfCoincidence = indexOfCoincidence;
+        }
+
+        // Index wheel (sesuai urutan di constructor) dari kiri ke kanan
+        public int[] getRotorOrder() {
+            return rotorOrder.clone();
+        }
+
+        public String getRingSettings() {
+            return ringSettings;
+        }
+
+        public String getPositions() {
+            return positions;
+        }
+
+        public double getIndexOfCoincidence() {
+            return indexOfCoincidence;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Order %d-%d-%d | Ring %s | Pos %s | IoC %.5f",
+                    rotorOrder[0], rotorOrder[1], rotorOrder[2], ringSettings, positions, indexOfCoincidence);
+        }
+    }
+
+    public RotorStartSearch(String[] wheelWirings, char[] wheelNotches, String reflectorWiring) {
+        this.wheels = WheelSet.fromWirings(wheelWirings, wheelNotches, reflectorWiring, "Search");
+    }
+
+    // Wheel dari EnigmaCatalog, mis. new RotorStartSearch("UKW-B", "I", "II", "III", "IV", "V", "VI", "VII", "VIII");
+    public RotorStartSearch(String reflectorName, String... wheelNames) {
+        this.wheels = WheelSet.fromCatalog(reflectorName, wheelNames, "Search");
+    }
+
+    // ringRotors: jumlah rotor dari kanan yang ring setting-nya ikut dicari (0-3);
+    // rotor lain memakai ring A. listener boleh null.
+    public List<Candidate> search(String ciphertext, int topK, int ringRotors,
+                                  ForkJoinPool pool, ProgressListener listener) {
+        if (topK < 1) {
+            throw new IllegalArgumentException("topK must be at least 1");
+        }
+        if (ringRotors < 0 || ringRotors > ROTORS) {
+            throw new IllegalArgumentException("ringRotors must be between 0 and " + ROTORS);
+        }
+        byte[] text = WheelSet.letterIndexes(ciphertext);
+        if (text.length < 2) {
+            throw new IllegalArgumentException("Ciphertext needs at least two letters");
+        }
+
+        int[][] orders = wheels.rotorOrders();
+        int rings = (int) Math.pow(26, ringRotors);
+        int blocks = (STATES + STARTS_PER_TASK - 1) / STARTS_PER_TASK;
+
+        // 1. Per urutan rotor: tabel scrambler (ring A, index posisi inti) dan stepping.
+        // Ring setting hanya menggeser posisi inti; stepping tetap mengikuti posisi.
+        WheelSet.OrderTables tables = wheels.tables(orders, pool);
+
+        // 2. Per ring setting: tabel posisi inti dibangun sekali, lalu semua
+        // (urutan, blok posisi awal) discan paralel ke heap milik thread worker
+        long total = (long) orders.length * rings * STATES;
+        AtomicLong done = new AtomicLong();
+        long started = System.nanoTime();
+        Queue<TopK> workerTops = new ConcurrentLinkedQueue<>();
+        ThreadLocal<TopK> workerTop = ThreadLocal.withInitial(() -> {
+            TopK top = new TopK(topK);
+            workerTops.add(top);
+            return top;
+        });
+        for (int ring = 0; ring < rings; ring++) {
+            int ringIndex = ring;
+            int[] coreOf = coreStates(ring);
+            pool.invoke(new Enigma.ChunkTask(0, orders.length * blocks, task -> {
+                int order = task / blocks;
+                int from = task % blocks * STARTS_PER_TASK;
+                int to = Math.min(STATES, from + STARTS_PER_TASK);
+
+                scan(text, tables.scramblers[order], tables.nextStates[order], coreOf, order, ringIndex, from, to, workerTop.get());
+
+                long finished = done.addAndGet(to - from);
+                if (listener != null) {
+                    long elapsed = (System.nanoTime() - started) / 1_000_000;
+                    listener.progress(finished, total, elapsed * (total - finished) / finished);
+                }
+            }));
+        }
+
+        // 3. Gabungkan heap per worker
+        TopK merged = new TopK(topK);
+        for (TopK top : workerTops) {
+            for (int i = 0; i < top.size; i++) {
+                merged.offer(top.scores[i], top.keys[i]);
+            }
+        }
+        List<Candidate> candidates = new ArrayList<>(merged.size);
+        for (int i : merged.sortedDescending()) {
+            candidates.add(toCandidate(orders, merged.keys[i], merged.scores[i]));
+        }
+        return candidates;
+    }
+
+    // coreOf[state]: posisi inti rotor (posisi - ring) untuk index tabel scrambler
+    private static int[] coreStates(int ring) {
+        int[] coreOf = new int[STATES];
+        int ringLeft = ring / 676 % 26;
+        int ringMiddle = ring / 26 % 26;
+        int ringRight = ring % 26;
+        for (int state = 0; state < STATES; state++) {
+            int left = (state / 676 - ringLeft + 26) % 26;
+            int middle = (state / 26 % 26 - ringMiddle + 26) % 26;
+            int right = (state % 26 - ringRight + 26) % 26;
+            coreOf[state] = left * 676 + middle * 26 + right;
+        }
+        return coreOf;
+    }
+
+    private static void scan(byte[] text, byte[] scrambler, short[] nextState, int[] coreOf,
+                             int order, int ring, int from, int to, TopK top) {
+        byte[] plain = new byte[text.length];
+        int[] counts = new int[26];
+        for (int start = from; start < to; start++) {
+            int state = start;
+            for (int i = 0; i < text.length; i++) {
+                state = nextState[state];
+                plain[i] = scrambler[coreOf[state] * 26 + text[i]];
+            }
+            double ioc = LanguageModel.indexOfCoincidence(plain, text.length, counts);
+            top.offer(ioc, ((long) order * STATES * STATES) + (long) ring * STATES + start);
+        }
+    }
+
+    private Candidate toCandidate(int[][] orders, long key, double score) {
+        int order = (int) (key / ((long) STATES * STATES));
+        int ring = (int) (key / STATES % STATES);
+        int start = (int) (key % STATES);
+        return new Candidate(orders[order].clone(), letters(ring), letters(start), score);
+    }
+
+    private static String letters(int state) {
+        return (char) ('A' + state / 676 % 26) + " " + (char) ('A' + state / 26 % 26) + " " + (char) ('A' + state % 26);
+    }
+
+    // Min-heap berukuran tetap di atas array primitif: menyimpan K skor tertinggi
+    private static final class TopK {
+        final double[] scores;
+        final long[] keys;
+        int size;
+
+        TopK(int capacity) {
+            scores = new double[capacity];
+            keys = new long[capacity];
+        }
+
+        void offer(double score, long key) {
+            if (size < scores.length) {
+                scores[size] = score;
+                keys[size] = key;
+                siftUp(size++);
+            } else if (score > scores[0]) {
+                scores[0] = score;
+                keys[0] = key;
+                siftDown(0);
+            }
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (scores[parent] <= scores[i]) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int smallest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && scores[left] < scores[smallest]) smallest = left;
+                if (right < size && scores[right] < scores[smallest]) smallest = right;
+                if (smallest == i) return;
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(int a, int b) {
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+            long key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+        }
+
+        // Index entri dari skor tertinggi ke terendah
+        int[] sortedDescending() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a]));
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++) {
+                indexes[i] = order[i];
+            }
+            return indexes;
+        }
+    }
+}
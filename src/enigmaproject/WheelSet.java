@@ -0,0 +1,108 @@
+package enigmaproject;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * WheelSet
+ * - Wheel kandidat dan reflector untuk serangan yang mencoba semua urutan 3 rotor
+ *   (Bombe, RotorStartSearch)
+ * - Menyediakan daftar urutan rotor dan mesin ring A / posisi A per urutan, sehingga
+ *   index urutan di hasil serangan merujuk ke wheel yang sama
+ * - Immutable; tabel wheel dan reflector dipakai bersama oleh semua mesin
+ */
+final class WheelSet {
+
+    static final int ROTORS = 3;
+
+    final Enigma.Wheel[] wheels;
+    final Enigma.Reflector reflector;
+
+    // Tabel per urutan rotor (index sama dengan rotorOrders()): scrambler dengan ring A
+    // per posisi inti, dan posisi berikutnya setelah satu langkah
+    static final class OrderTables {
+        final byte[][] scramblers;
+        final short[][] nextStates;
+
+        private OrderTables(int orders) {
+            scramblers = new byte[orders][];
+            nextStates = new short[orders][];
+        }
+    }
+
+    private WheelSet(Enigma.Wheel[] wheels, Enigma.Reflector reflector, String user) {
+        if (wheels.length < ROTORS) {
+            throw new IllegalArgumentException(user + " needs at least " + ROTORS + " wheels");
+        }
+        this.wheels = wheels;
+        this.reflector = reflector;
+    }
+
+    // Wiring dan satu notch per wheel; user dipakai di pesan error ("Bombe", "Search")
+    static WheelSet fromWirings(String[] wheelWirings, char[] wheelNotches, String reflectorWiring, String user) {
+        if (wheelNotches.length != wheelWirings.length) {
+            throw new IllegalArgumentException("Each wheel needs exactly one notch");
+        }
+        Enigma.Wheel[] compiled = new Enigma.Wheel[wheelWirings.length];
+        for (int i = 0; i < compiled.length; i++) {
+            compiled[i] = EnigmaConfig.compileWheel(null, wheelWirings[i], String.valueOf(wheelNotches[i]), false, "Wheel " + (i + 1));
+        }
+        return new WheelSet(compiled, EnigmaConfig.compileReflector(reflectorWiring, "Reflector"), user);
+    }
+
+    // Nama wheel dan reflector dari EnigmaCatalog di-resolve sekali di sini;
+    // tabel wiring dipakai bersama, tidak dikompilasi ulang per urutan rotor
+    static WheelSet fromCatalog(String reflectorName, String[] wheelNames, String user) {
+        return new WheelSet(EnigmaCatalog.wheels(wheelNames), EnigmaCatalog.reflector(reflectorName), user);
+    }
+
+    // Semua urutan 3 wheel berbeda (5 wheel -> 60 urutan, 8 wheel -> 336)
+    int[][] rotorOrders() {
+        List<int[]> orders = new ArrayList<>();
+        for (int left = 0; left < wheels.length; left++) {
+            for (int middle = 0; middle < wheels.length; middle++) {
+                for (int right = 0; right < wheels.length; right++) {
+                    if (left != middle && middle != right && left != right) {
+                        orders.add(new int[]{left, middle, right});
+                    }
+                }
+            }
+        }
+        return orders.toArray(new int[0][]);
+    }
+
+    // Mesin tanpa plugboard dengan ring dan posisi A untuk satu urutan rotor
+    private Enigma machineFor(int[] order) {
+        Enigma.Wheel[] ordered = new Enigma.Wheel[ROTORS];
+        for (int i = 0; i < ROTORS; i++) {
+            ordered[i] = wheels[order[i]];
+        }
+        return new EnigmaConfig(ordered, reflector, "A A A", "A A A", new String[]{}).newMachine();
+    }
+
+    // Bangun OrderTables untuk semua urutan rotor secara paralel di pool
+    OrderTables tables(int[][] orders, ForkJoinPool pool) {
+        OrderTables tables = new OrderTables(orders.length);
+        pool.invoke(new Enigma.ChunkTask(0, orders.length, order -> {
+            Enigma machine = machineFor(orders[order]);
+            tables.scramblers[order] = machine.scramblerTable();
+            tables.nextStates[order] = machine.nextStateTable();
+        }));
+        return tables;
+    }
+
+    // Huruf A-Z/a-z sebagai index 0-25; karakter lain dibuang
+    static byte[] letterIndexes(String text) {
+        byte[] letters = new byte[text.length()];
+        int n = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int letter = Character.toUpperCase(text.charAt(i)) - 'A';
+            if (letter >= 0 && letter < 26) {
+                letters[n++] = (byte) letter;
+            }
+        }
+        return Arrays.copyOf(letters, n);
+    }
+}